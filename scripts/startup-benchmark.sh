@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of the application on the plain JVM, the JVM with
+# AOT processing and a CDS archive, and as a GraalVM native executable.
+# Requires a running database (docker compose up -d) and, for the native run, GraalVM as JAVA_HOME.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK="$ROOT/target/startup-benchmark"
+PROFILE_ARGS="--spring.profiles.active=fast-start"
+
+cd "$ROOT"
+mkdir -p "$WORK"
+
+# Starts the given command, waits for the startup log line and prints "<seconds> <rss-kb>".
+measure() {
+  local log="$WORK/run.log"
+  "$@" > "$log" 2>&1 &
+  local pid=$!
+  until grep -q "Started ProductApplication" "$log"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      cat "$log" >&2
+      exit 1
+    fi
+    sleep 0.1
+  done
+  local seconds rss
+  seconds=$(grep -o "Started ProductApplication in [0-9.]*" "$log" | awk '{print $4}')
+  rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$seconds $rss"
+}
+
+report() {
+  local name=$1
+  shift
+  local total_seconds=0 total_rss=0
+  for _ in $(seq "$RUNS"); do
+    read -r seconds rss < <(measure "$@")
+    total_seconds=$(echo "$total_seconds + $seconds" | bc -l)
+    total_rss=$((total_rss + rss))
+  done
+  printf "%-12s startup %6.3f s   rss %8d KB\n" "$name" \
+    "$(echo "$total_seconds / $RUNS" | bc -l)" "$((total_rss / RUNS))"
+}
+
+echo "Building JVM jar"
+./mvnw -q -DskipTests clean package
+cp target/product-0.0.1-SNAPSHOT.jar "$WORK/jvm.jar"
+
+echo "Building AOT jar and CDS archive"
+./mvnw -q -DskipTests -Paot clean package
+rm -rf "$WORK/cds"
+java -Djarmode=tools -jar target/product-0.0.1-SNAPSHOT.jar extract --destination "$WORK/cds"
+java -XX:ArchiveClassesAtExit="$WORK/cds/app.jsa" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+  -jar "$WORK/cds/product-0.0.1-SNAPSHOT.jar" $PROFILE_ARGS > /dev/null
+
+report "jvm" java -jar "$WORK/jvm.jar" $PROFILE_ARGS
+report "jvm+aot+cds" java -XX:SharedArchiveFile="$WORK/cds/app.jsa" -Dspring.aot.enabled=true \
+  -jar "$WORK/cds/product-0.0.1-SNAPSHOT.jar" $PROFILE_ARGS
+
+if command -v native-image > /dev/null; then
+  echo "Building native executable"
+  ./mvnw -q -DskipTests -Pnative clean native:compile
+  report "native" target/product $PROFILE_ARGS
+else
+  echo "native-image not found, skipping the native run"
+fi
@@ -1,13 +1,16 @@
 package com.dev.product;
 
+import com.dev.product.config.ProductRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * The main class for the Product application.
  * Serves as the entry point for running the Spring Boot application.
  */
 @SpringBootApplication
+@ImportRuntimeHints(ProductRuntimeHints.class)
 public class ProductApplication {
 
 	/**
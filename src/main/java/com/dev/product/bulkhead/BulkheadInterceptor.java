@@ -0,0 +1,110 @@
+package com.dev.product.bulkhead;
+
+import com.dev.product.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor placing each product request into the bulkhead of its workload.
+ * Full catalog reads may only occupy a few request threads and use their own connection pool,
+ * so point lookups and writes keep their threads and connections while exports run.
+ */
+@Component
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String WORKLOAD = BulkheadInterceptor.class.getName() + ".WORKLOAD";
+
+    private final Semaphore pointPermits;
+    private final Semaphore bulkPermits;
+    private final long pointMaxWaitMs;
+    private final long bulkMaxWaitMs;
+    private final Counter pointRejections;
+    private final Counter bulkRejections;
+
+    /**
+     * Constructs a new BulkheadInterceptor.
+     *
+     * @param pointMaxConcurrent the maximum number of point requests executing at once
+     * @param pointMaxWaitMs     the longest a point request may wait for a slot
+     * @param bulkMaxConcurrent  the maximum number of bulk requests executing at once
+     * @param bulkMaxWaitMs      the longest a bulk request may wait for a slot
+     * @param meterRegistry      the registry the rejection counters are registered with
+     */
+    public BulkheadInterceptor(@Value("${product.bulkhead.point.max-concurrent:32}") int pointMaxConcurrent,
+                               @Value("${product.bulkhead.point.max-wait-ms:50}") long pointMaxWaitMs,
+                               @Value("${product.bulkhead.bulk.max-concurrent:4}") int bulkMaxConcurrent,
+                               @Value("${product.bulkhead.bulk.max-wait-ms:1000}") long bulkMaxWaitMs,
+                               MeterRegistry meterRegistry) {
+        this.pointPermits = new Semaphore(pointMaxConcurrent);
+        this.bulkPermits = new Semaphore(bulkMaxConcurrent);
+        this.pointMaxWaitMs = pointMaxWaitMs;
+        this.bulkMaxWaitMs = bulkMaxWaitMs;
+        this.pointRejections = rejectionCounter(meterRegistry, Workload.POINT);
+        this.bulkRejections = rejectionCounter(meterRegistry, Workload.BULK);
+    }
+
+    /**
+     * Classifies the request, waits for a slot in its bulkhead and routes its database work to the matching pool.
+     *
+     * @throws TooManyRequestsException if the bulkhead stays full for longer than its wait limit
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        Workload workload = classify(request);
+        boolean bulk = workload == Workload.BULK;
+        Semaphore permits = bulk ? bulkPermits : pointPermits;
+        if (!permits.tryAcquire(bulk ? bulkMaxWaitMs : pointMaxWaitMs, TimeUnit.MILLISECONDS)) {
+            (bulk ? bulkRejections : pointRejections).increment();
+            throw new TooManyRequestsException("Too many concurrent " + workload.name().toLowerCase() + " requests", 1);
+        }
+        request.setAttribute(WORKLOAD, workload);
+        WorkloadContext.set(workload);
+        return true;
+    }
+
+    /**
+     * Releases the bulkhead slot taken in preHandle.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object workload = request.getAttribute(WORKLOAD);
+        if (workload != null) {
+            request.removeAttribute(WORKLOAD);
+            (workload == Workload.BULK ? bulkPermits : pointPermits).release();
+        }
+        WorkloadContext.clear();
+    }
+
+    /**
+     * Full catalog reads, batch changes and job output downloads are bulk work; everything else is point work.
+     * A download streams a whole export file, so it would hold a point slot for the entire transfer.
+     */
+    static Workload classify(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (HttpMethod.GET.matches(request.getMethod()) && "/products".equals(pattern)) {
+            return Workload.BULK;
+        }
+        if ("/products/batch".equals(pattern) || "/products/jobs/{id}/output".equals(pattern)) {
+            return Workload.BULK;
+        }
+        return Workload.POINT;
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, Workload workload) {
+        return Counter.builder("product.bulkhead.rejections")
+                .description("Requests rejected because their bulkhead was full")
+                .tag("workload", workload.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.dev.product.bulkhead;
+
+/**
+ * Kinds of work that are isolated from each other in separate bulkheads.
+ */
+public enum Workload {
+
+    /**
+     * Point reads and writes of single products, which must stay fast.
+     */
+    POINT,
+
+    /**
+     * Full-table reads, exports and other long-running operations.
+     */
+    BULK
+}
@@ -0,0 +1,65 @@
+package com.dev.product.bulkhead;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the workload of the current thread, which decides the connection pool its database work is routed to.
+ * Only request threads classified by the bulkhead interceptor run as point work. Threads without a workload,
+ * such as schedulers, event listeners and startup, use the bulk pool, so background work never competes
+ * for point connections or runs into the short point statement timeout.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * Returns the workload of the current thread.
+     *
+     * @return the current workload, never null
+     */
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload == null ? Workload.BULK : workload;
+    }
+
+    /**
+     * Sets the workload of the current thread.
+     *
+     * @param workload the workload to set
+     */
+    public static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    /**
+     * Clears the workload of the current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs the given work under the given workload and restores the previous workload afterwards.
+     *
+     * @param workload the workload to run as
+     * @param work     the work to run
+     * @param <T>      the result type
+     * @return the result of the work
+     */
+    public static <T> T callAs(Workload workload, Supplier<T> work) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.dev.product.cache;
+
+import com.dev.product.dto.ProductTombstone;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import com.dev.product.repository.ProductRepository;
+import com.dev.product.repository.ProductTombstoneRepository;
+import com.dev.product.store.MappedProductStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Propagates product invalidations between instances through Postgres LISTEN/NOTIFY.
+ * The IDs of committed local changes are collected and announced in the background, one pg_notify per flush,
+ * so a large batch costs a few notifications rather than one round trip per product on the writing thread.
+ * A background thread holds a dedicated connection listening on the channel and evicts the announced products.
+ * Node-local copies are only served while that connection is up. On every (re)connect the near-cache is flushed,
+ * and the memory-mapped store invalidates just the products changed or deleted since it was last in sync.
+ */
+@Component
+@ConditionalOnExpression("${product.cache.enabled:false} or ${product.store.enabled:false}")
+public class ProductInvalidationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductInvalidationChannel.class);
+
+    /**
+     * The notification channel shared by all instances.
+     */
+    static final String CHANNEL = "product_invalidation";
+
+    /**
+     * The application name of the listening connection, as shown in pg_stat_activity.
+     */
+    static final String APPLICATION_NAME = "product-invalidation";
+
+    /**
+     * Postgres rejects notification payloads of 8000 bytes or more, so larger flushes are split.
+     */
+    static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    /**
+     * Rows committed late can carry an updated_at slightly older than the sync time,
+     * so every resync re-reads this window. Invalidating a product twice is harmless.
+     */
+    private static final Duration WATERMARK_OVERLAP = Duration.ofSeconds(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ProductRepository productRepository;
+    private final ProductTombstoneRepository productTombstoneRepository;
+    private final ProductNearCache nearCache;
+    private final MappedProductStore productStore;
+    private final int heartbeatIntervalMs;
+    private final long reconnectDelayMs;
+    private final Duration tombstoneRetention;
+    private final Queue<Long> pendingIds = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    /**
+     * Constructs a new ProductInvalidationChannel.
+     *
+     * @param jdbcTemplate         the template used to publish notifications
+     * @param dataSourceProperties       the connection settings of the listening connection
+     * @param productRepository          the repository products changed while disconnected are read from
+     * @param productTombstoneRepository the repository products deleted while disconnected are read from
+     * @param nearCache                  the cache invalidated by notifications
+     * @param productStore               the memory-mapped store invalidated by notifications
+     * @param heartbeatIntervalMs        how long to wait for notifications before checking the connection
+     * @param reconnectDelayMs           how long to wait before reconnecting after the connection was lost
+     * @param tombstoneRetentionMs       how long tombstones are kept, which bounds how far back the store can resync
+     */
+    public ProductInvalidationChannel(JdbcTemplate jdbcTemplate,
+                                      DataSourceProperties dataSourceProperties,
+                                      ProductRepository productRepository,
+                                      ProductTombstoneRepository productTombstoneRepository,
+                                      ProductNearCache nearCache,
+                                      MappedProductStore productStore,
+                                      @Value("${product.cache.heartbeat-interval-ms:5000}") int heartbeatIntervalMs,
+                                      @Value("${product.cache.reconnect-delay-ms:1000}") long reconnectDelayMs,
+                                      @Value("${product.catalog.tombstone-retention-ms:3600000}") long tombstoneRetentionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.productRepository = productRepository;
+        this.productTombstoneRepository = productTombstoneRepository;
+        this.nearCache = nearCache;
+        this.productStore = productStore;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.tombstoneRetention = Duration.ofMillis(tombstoneRetentionMs);
+    }
+
+    /**
+     * Starts the listener thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "product-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Announces pending changes, then stops the listener thread and closes its connection.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        publishPending();
+        running = false;
+        closeQuietly(connection);
+        listener.interrupt();
+        listener.join(heartbeatIntervalMs);
+    }
+
+    /**
+     * Queues a committed local change to be announced to every instance, including this one.
+     *
+     * @param event the change published by the product service
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        pendingIds.add(event.id());
+    }
+
+    /**
+     * Announces the queued changes as comma-separated ID lists, as few notifications as the payload limit allows.
+     * IDs that could not be announced are queued again, so other instances are never left serving them indefinitely.
+     */
+    @Scheduled(fixedDelayString = "${product.cache.notify-interval-ms:50}")
+    public synchronized void publishPending() {
+        Set<Long> ids = new LinkedHashSet<>();
+        Long id;
+        while ((id = pendingIds.poll()) != null) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        for (Long changed : ids) {
+            String next = changed.toString();
+            if (payload.length() + next.length() + 1 > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+            }
+            if (!payload.isEmpty()) {
+                payload.append(',');
+            }
+            payload.append(next);
+        }
+        payloads.add(payload.toString());
+
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload",
+                    (ResultSetExtractor<Void>) rs -> null, CHANNEL, payloads.toArray(String[]::new));
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish invalidations for {} products, retrying", ids.size(), e);
+            pendingIds.addAll(ids);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listening = connect()) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Anything could have changed while no one was listening.
+                resync(heartbeat(listening));
+                productStore.setConnected(true);
+                nearCache.setConnected(true);
+                log.info("Listening for product invalidations");
+
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                long nextHeartbeat = System.nanoTime();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(heartbeatIntervalMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            invalidate(notification.getParameter());
+                        }
+                    }
+                    if (System.nanoTime() - nextHeartbeat >= 0) {
+                        // Every notification sent before the previous heartbeat has been applied by now.
+                        Instant confirmed = heartbeat(listening);
+                        productStore.markSynced(confirmed.minusMillis(heartbeatIntervalMs));
+                        nextHeartbeat = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs);
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost the product invalidation channel, reconnecting in {} ms", reconnectDelayMs, e);
+                }
+            } catch (RuntimeException e) {
+                if (running) {
+                    log.warn("Failed to resync the product store, reconnecting in {} ms", reconnectDelayMs, e);
+                }
+            } finally {
+                connection = null;
+                productStore.setConnected(false);
+                nearCache.setConnected(false);
+            }
+            pause();
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        if (username != null) {
+            properties.setProperty("user", username);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        properties.setProperty("tcpKeepAlive", "true");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    /**
+     * Checks the connection and returns the database time.
+     * getNotifications only notices a dead socket once it tries to read, so the server is poked now and then.
+     */
+    private Instant heartbeat(Connection listening) throws SQLException {
+        try (Statement statement = listening.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT clock_timestamp()")) {
+            resultSet.next();
+            return resultSet.getTimestamp(1).toInstant();
+        }
+    }
+
+    /**
+     * Invalidates the stored products changed or deleted since the store was last in sync.
+     * Runs after LISTEN, so a change committed from here on is either read below or announced.
+     * The store is cleared when it has never been in sync or has been out of sync longer than tombstones are kept.
+     *
+     * @param now the database time at which the channel started listening
+     */
+    private void resync(Instant now) {
+        Instant syncedAt = productStore.syncedAt();
+        if (syncedAt == null || syncedAt.isBefore(now.minus(tombstoneRetention))) {
+            productStore.clear();
+        } else {
+            Instant since = syncedAt.minus(WATERMARK_OVERLAP);
+            for (ProductEntity changed : productRepository.findByUpdatedAtAfter(since)) {
+                productStore.invalidate(changed.getId());
+            }
+            for (ProductTombstone tombstone : productTombstoneRepository.findDeletedAfter(since)) {
+                productStore.remove(tombstone.productId());
+            }
+        }
+        productStore.markSynced(now);
+    }
+
+    private void invalidate(String payload) {
+        try {
+            for (String id : payload.split(",")) {
+                long productId = Long.parseLong(id);
+                nearCache.evict(productId);
+                productStore.invalidate(productId);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed product invalidation '{}', flushing instead", payload);
+            nearCache.evictAll();
+            productStore.clear();
+        }
+    }
+
+    private void pause() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close the product invalidation connection", e);
+        }
+    }
+}
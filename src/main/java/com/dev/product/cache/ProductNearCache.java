@@ -0,0 +1,210 @@
+package com.dev.product.cache;
+
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local cache of point lookups, kept coherent across instances by the invalidation channel.
+ * The cache only serves and accepts entries while the channel is listening, so a node that may be missing
+ * invalidations falls back to the database instead of serving stale products. Entries also expire after a TTL,
+ * which bounds staleness should a notification itself be lost. Expired entries are swept periodically, and when the cache
+ * is full the least recently used entries make room for new ones.
+ */
+@Component
+public class ProductNearCache {
+
+    /**
+     * The share of entries evicted at once when the cache is full, so a full cache is not sorted on every put.
+     */
+    private static final double EVICTION_FRACTION = 0.1;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented by every invalidation, so a lookup that raced with one does not cache what it read.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile boolean connected;
+
+    /**
+     * Constructs a new ProductNearCache.
+     *
+     * @param enabled    whether the cache is used at all
+     * @param maxEntries the maximum number of cached products
+     * @param ttl        how long a product is cached at most
+     */
+    public ProductNearCache(@Value("${product.cache.enabled:false}") boolean enabled,
+                            @Value("${product.cache.max-entries:10000}") int maxEntries,
+                            @Value("${product.cache.ttl:PT60S}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Reads a product from the cache.
+     *
+     * @param id the ID of the product
+     * @return an Optional containing a copy of the cached product, or an empty Optional if it is not cached
+     */
+    public Optional<ProductEntity> find(long id) {
+        if (!connected) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        if (entry.isExpired(now)) {
+            entries.remove(id, entry);
+            return Optional.empty();
+        }
+        entry.lastUsed = now;
+        return Optional.of(entry.product.copy());
+    }
+
+    /**
+     * Returns the current invalidation generation.
+     * Callers read it before loading a product and pass it to {@link #put(ProductEntity, long)}.
+     *
+     * @return the current generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a product unless an invalidation happened since the given generation was read.
+     *
+     * @param product    the product to cache
+     * @param generation the generation read before the product was loaded
+     */
+    public void put(ProductEntity product, long generation) {
+        if (!connected || this.generation.get() != generation) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evictIfFull();
+        }
+        long now = System.nanoTime();
+        Entry entry = new Entry(product.copy(), now + ttlNanos, now);
+        entries.put(product.getId(), entry);
+        // An invalidation that slipped in after the check above may have run before the put, so undo it.
+        if (this.generation.get() != generation) {
+            entries.remove(product.getId(), entry);
+        }
+    }
+
+    /**
+     * Removes a product from the cache.
+     *
+     * @param id the ID of the product to remove
+     */
+    public void evict(long id) {
+        generation.incrementAndGet();
+        entries.remove(id);
+    }
+
+    /**
+     * Removes every product from the cache.
+     */
+    public void evictAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Removes expired entries, so products that are never looked up again do not hold their slot until the cache is full.
+     */
+    @Scheduled(fixedDelayString = "${product.cache.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    /**
+     * Returns whether the cache is currently serving entries.
+     *
+     * @return true if the invalidation channel is listening
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Starts or stops serving entries as the invalidation channel connects or disconnects.
+     * Both transitions flush the cache, since invalidations may have been missed while disconnected.
+     *
+     * @param connected whether the invalidation channel is listening
+     */
+    public void setConnected(boolean connected) {
+        evictAll();
+        this.connected = enabled && connected;
+    }
+
+    /**
+     * Evicts products changed by this node right away instead of waiting for its own notification.
+     *
+     * @param event the change published by the product service
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.id());
+    }
+
+    /**
+     * Makes room for a new entry: removes expired entries, then the least recently used ones if the cache is still full.
+     */
+    private synchronized void evictIfFull() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        evictExpired();
+        int excess = entries.size() - maxEntries + 1;
+        if (excess <= 0) {
+            return;
+        }
+        int count = Math.max(excess, (int) (maxEntries * EVICTION_FRACTION));
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastUsed))
+                .limit(count)
+                .toList()
+                .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+
+    /**
+     * A cached product.
+     */
+    private static final class Entry {
+
+        private final ProductEntity product;
+        private final long expiresAt;
+        private volatile long lastUsed;
+
+        Entry(ProductEntity product, long expiresAt, long lastUsed) {
+            this.product = product;
+            this.expiresAt = expiresAt;
+            this.lastUsed = lastUsed;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
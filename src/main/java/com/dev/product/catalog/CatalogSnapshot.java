@@ -0,0 +1,291 @@
+package com.dev.product.catalog;
+
+import com.dev.product.dto.ProductFields;
+import com.dev.product.entity.ProductEntity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, column-oriented copy of the product table.
+ * Every field is held in its own array and rows are located through a primitive id index.
+ * Rows are kept in ID order and readers receive freshly built detached entities, so the snapshot itself can never be modified.
+ */
+public final class CatalogSnapshot {
+
+    private final long[] ids;
+    private final String[] names;
+    private final String[] descriptions;
+    private final String[] prices;
+    private final LongIndexMap index;
+    private final Instant watermark;
+
+    /**
+     * Takes ownership of the given arrays and sorts them by ID if they are not sorted yet,
+     * so every reader sees the products in the same order as the database queries ordered by prod_id.
+     */
+    private CatalogSnapshot(long[] ids, String[] names, String[] descriptions, String[] prices, Instant watermark) {
+        sortById(ids, names, descriptions, prices);
+        this.ids = ids;
+        this.names = names;
+        this.descriptions = descriptions;
+        this.prices = prices;
+        this.watermark = watermark;
+        this.index = new LongIndexMap(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            index.put(ids[i], i);
+        }
+    }
+
+    /**
+     * Builds a snapshot from a full load of the product table.
+     *
+     * @param products all products
+     * @return the new snapshot
+     */
+    public static CatalogSnapshot of(List<ProductEntity> products) {
+        Instant watermark = Instant.EPOCH;
+        for (ProductEntity product : products) {
+            watermark = later(watermark, product.getUpdatedAt());
+        }
+        return of(products, watermark);
+    }
+
+    /**
+     * Builds a snapshot from a full load that did not read the table at a single point in time.
+     * Rows changed while the load ran may be missing or stale, so the next incremental refresh has to start
+     * from when the load began rather than from the newest row it happened to read.
+     *
+     * @param products  all products
+     * @param watermark the time the load started
+     * @return the new snapshot
+     */
+    public static CatalogSnapshot of(List<ProductEntity> products, Instant watermark) {
+        int size = products.size();
+        long[] ids = new long[size];
+        String[] names = new String[size];
+        String[] descriptions = new String[size];
+        String[] prices = new String[size];
+        for (int i = 0; i < size; i++) {
+            ProductEntity product = products.get(i);
+            ids[i] = product.getId();
+            names[i] = product.getName();
+            descriptions[i] = product.getDescription();
+            prices[i] = product.getPrice();
+        }
+        return new CatalogSnapshot(ids, names, descriptions, prices, watermark);
+    }
+
+    /**
+     * Builds a new snapshot with the given inserted or updated products applied on top of this one.
+     *
+     * @param changed the products changed since this snapshot's watermark
+     * @return the new snapshot, or this snapshot if nothing changed
+     */
+    public CatalogSnapshot withChanges(List<ProductEntity> changed) {
+        return withChanges(changed, true);
+    }
+
+    /**
+     * Builds a new snapshot with changes committed on this node applied, keeping the watermark.
+     * Locally committed rows may carry timestamps from the application clock rather than the database clock,
+     * so they must not move the watermark the next incremental query starts from.
+     *
+     * @param changed the products inserted or updated on this node
+     * @param deleted the IDs of the products deleted on this node
+     * @return the new snapshot, or this snapshot if nothing changed
+     */
+    CatalogSnapshot withLocalChanges(List<ProductEntity> changed, Collection<Long> deleted) {
+        return withChanges(changed, false).withoutIds(deleted);
+    }
+
+    private CatalogSnapshot withChanges(List<ProductEntity> changed, boolean advanceWatermark) {
+        if (changed.isEmpty()) {
+            return this;
+        }
+
+        int size = ids.length;
+        List<ProductEntity> appended = new ArrayList<>();
+        long[] newIds = ids.clone();
+        String[] newNames = names.clone();
+        String[] newDescriptions = descriptions.clone();
+        String[] newPrices = prices.clone();
+        Instant newWatermark = watermark;
+        Map<Long, ProductEntity> latest = new LinkedHashMap<>();
+        for (ProductEntity product : changed) {
+            latest.put(product.getId(), product);
+        }
+        for (ProductEntity product : latest.values()) {
+            int position = index.get(product.getId());
+            if (position < 0) {
+                appended.add(product);
+            } else {
+                newNames[position] = product.getName();
+                newDescriptions[position] = product.getDescription();
+                newPrices[position] = product.getPrice();
+            }
+            if (advanceWatermark) {
+                newWatermark = later(newWatermark, product.getUpdatedAt());
+            }
+        }
+
+        if (!appended.isEmpty()) {
+            int newSize = size + appended.size();
+            newIds = Arrays.copyOf(newIds, newSize);
+            newNames = Arrays.copyOf(newNames, newSize);
+            newDescriptions = Arrays.copyOf(newDescriptions, newSize);
+            newPrices = Arrays.copyOf(newPrices, newSize);
+            for (int i = 0; i < appended.size(); i++) {
+                ProductEntity product = appended.get(i);
+                newIds[size + i] = product.getId();
+                newNames[size + i] = product.getName();
+                newDescriptions[size + i] = product.getDescription();
+                newPrices[size + i] = product.getPrice();
+            }
+        }
+        return new CatalogSnapshot(newIds, newNames, newDescriptions, newPrices, newWatermark);
+    }
+
+    /**
+     * Builds a new snapshot without the given deleted products.
+     *
+     * @param deleted the IDs of the deleted products
+     * @return the new snapshot, or this snapshot if none of the products is present
+     */
+    public CatalogSnapshot withoutIds(Collection<Long> deleted) {
+        boolean[] removed = new boolean[ids.length];
+        int count = 0;
+        for (Long id : deleted) {
+            int position = index.get(id);
+            if (position >= 0 && !removed[position]) {
+                removed[position] = true;
+                count++;
+            }
+        }
+        if (count == 0) {
+            return this;
+        }
+
+        int newSize = ids.length - count;
+        long[] newIds = new long[newSize];
+        String[] newNames = new String[newSize];
+        String[] newDescriptions = new String[newSize];
+        String[] newPrices = new String[newSize];
+        int next = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (!removed[i]) {
+                newIds[next] = ids[i];
+                newNames[next] = names[i];
+                newDescriptions[next] = descriptions[i];
+                newPrices[next] = prices[i];
+                next++;
+            }
+        }
+        return new CatalogSnapshot(newIds, newNames, newDescriptions, newPrices, watermark);
+    }
+
+    /**
+     * Looks up a product by its ID.
+     *
+     * @param id the ID of the product
+     * @return an Optional containing a detached copy of the product, or an empty Optional if absent
+     */
+    public Optional<ProductEntity> find(long id) {
+        int position = index.get(id);
+        return position < 0 ? Optional.empty() : Optional.of(toEntity(position));
+    }
+
+    /**
+     * Returns detached copies of all products in the snapshot.
+     *
+     * @return an unmodifiable list of products
+     */
+    public List<ProductEntity> toList() {
+        List<ProductEntity> products = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            products.add(toEntity(i));
+        }
+        return Collections.unmodifiableList(products);
+    }
+
+    /**
+     * Returns the given fields of all products in the snapshot, ordered by ID.
+     *
+     * @param fields the field names to include, each one of id, name, description or price
+     * @return one projection per product, with the fields that were not selected left null
+     */
+    public List<ProductFields> project(List<String> fields) {
+        boolean id = fields.contains("id");
+        boolean name = fields.contains("name");
+        boolean description = fields.contains("description");
+        boolean price = fields.contains("price");
+        List<ProductFields> rows = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            rows.add(new ProductFields(
+                    id ? ids[i] : null,
+                    name ? names[i] : null,
+                    description ? descriptions[i] : null,
+                    price ? prices[i] : null));
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the number of products in the snapshot.
+     *
+     * @return the number of products
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the latest update timestamp contained in the snapshot.
+     *
+     * @return the watermark used for the next incremental refresh
+     */
+    public Instant watermark() {
+        return watermark;
+    }
+
+    private ProductEntity toEntity(int position) {
+        return new ProductEntity(ids[position], names[position], prices[position], descriptions[position]);
+    }
+
+    private static void sortById(long[] ids, String[] names, String[] descriptions, String[] prices) {
+        int unsorted = 1;
+        while (unsorted < ids.length && ids[unsorted - 1] < ids[unsorted]) {
+            unsorted++;
+        }
+        if (unsorted >= ids.length) {
+            return;
+        }
+
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+        long[] sortedIds = ids.clone();
+        String[] sortedNames = names.clone();
+        String[] sortedDescriptions = descriptions.clone();
+        String[] sortedPrices = prices.clone();
+        for (int i = 0; i < order.length; i++) {
+            ids[i] = sortedIds[order[i]];
+            names[i] = sortedNames[order[i]];
+            descriptions[i] = sortedDescriptions[order[i]];
+            prices[i] = sortedPrices[order[i]];
+        }
+    }
+
+    private static Instant later(Instant current, Instant candidate) {
+        return candidate != null && candidate.isAfter(current) ? candidate : current;
+    }
+}
@@ -0,0 +1,66 @@
+package com.dev.product.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to int positions.
+ * Filled once while a snapshot is built and read-only afterwards, so lookups need no locking or boxing.
+ */
+final class LongIndexMap {
+
+    private static final int ABSENT = -1;
+
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+
+    /**
+     * Constructs a new LongIndexMap sized for the expected number of keys at a load factor of at most 0.5.
+     *
+     * @param expectedSize the number of keys that will be inserted
+     */
+    LongIndexMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(values, ABSENT);
+    }
+
+    /**
+     * Associates the key with the given position, replacing any previous value.
+     *
+     * @param key   the key
+     * @param value the non-negative position to store
+     */
+    void put(long key, int value) {
+        int slot = slot(key);
+        while (values[slot] != ABSENT && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    /**
+     * Returns the position stored for the key.
+     *
+     * @param key the key to look up
+     * @return the stored position, or -1 if the key is absent
+     */
+    int get(long key) {
+        int slot = slot(key);
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,118 @@
+package com.dev.product.catalog;
+
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Holder for the current in-memory catalog snapshot.
+ * The snapshot is swapped atomically on refresh, so readers never take a lock.
+ * Changes made on this node are queued as they are committed and folded into the snapshot
+ * by the next reader, so a write is visible here immediately and a batch of writes costs a single rebuild.
+ * While the refresher reads the table, the changes folded in are remembered and re-applied to the snapshot it publishes,
+ * so a local write is never hidden by a refresh computed from an older snapshot.
+ */
+@Component
+public class ProductCatalog {
+
+    private final Queue<ProductChangedEvent> pending = new ConcurrentLinkedQueue<>();
+
+    private final Map<Long, ProductChangedEvent> appliedDuringRefresh = new LinkedHashMap<>();
+
+    private volatile CatalogSnapshot snapshot;
+    private boolean refreshing;
+
+    /**
+     * Returns the current snapshot, with all changes committed on this node applied.
+     *
+     * @return the current snapshot, or null if the in-memory catalog is disabled or not loaded yet
+     */
+    public CatalogSnapshot current() {
+        if (!pending.isEmpty()) {
+            applyPending();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Queues a committed change for the next reader to apply.
+     * Changes are ignored while no snapshot is loaded, since the initial load reads them from the table.
+     *
+     * @param event the change that was committed
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (snapshot != null) {
+            pending.add(event);
+        }
+    }
+
+    /**
+     * Returns the current snapshot as the base of a refresh, and remembers every local change applied from now on
+     * until the refresh result is published.
+     *
+     * @return the current snapshot, or null if none is loaded yet
+     */
+    synchronized CatalogSnapshot beginRefresh() {
+        applyPending();
+        appliedDuringRefresh.clear();
+        refreshing = true;
+        return snapshot;
+    }
+
+    /**
+     * Publishes a new snapshot to readers.
+     * Local changes applied since {@link #beginRefresh()} are re-applied to it, since it was computed without them.
+     *
+     * @param snapshot the snapshot to publish
+     */
+    synchronized void publish(CatalogSnapshot snapshot) {
+        applyPending();
+        this.snapshot = apply(snapshot, appliedDuringRefresh.values());
+        appliedDuringRefresh.clear();
+        refreshing = false;
+    }
+
+    private synchronized void applyPending() {
+        Map<Long, ProductChangedEvent> latest = new LinkedHashMap<>();
+        ProductChangedEvent event;
+        while ((event = pending.poll()) != null) {
+            latest.put(event.id(), event);
+        }
+        if (latest.isEmpty() || snapshot == null) {
+            return;
+        }
+        if (refreshing) {
+            for (ProductChangedEvent change : latest.values()) {
+                appliedDuringRefresh.remove(change.id());
+                appliedDuringRefresh.put(change.id(), change);
+            }
+        }
+        snapshot = apply(snapshot, latest.values());
+    }
+
+    private static CatalogSnapshot apply(CatalogSnapshot snapshot, Collection<ProductChangedEvent> changes) {
+        if (changes.isEmpty()) {
+            return snapshot;
+        }
+        List<ProductEntity> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (ProductChangedEvent change : changes) {
+            if (change.isDeleted()) {
+                deleted.add(change.id());
+            } else {
+                changed.add(change.after());
+            }
+        }
+        return snapshot.withLocalChanges(changed, deleted);
+    }
+}
@@ -0,0 +1,117 @@
+package com.dev.product.catalog;
+
+import com.dev.product.dto.ProductTombstone;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.repository.ProductRepository;
+import com.dev.product.repository.ProductTombstoneRepository;
+import com.dev.product.service.ProductScanService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the product table into the in-memory catalog at startup and keeps it current.
+ * Inserts and updates are picked up incrementally from the updated_at watermark,
+ * and deletes from the tombstones the database records for every deleted row.
+ * Changes made on this node are applied by {@link ProductCatalog} as soon as they commit,
+ * and re-applied by it to every snapshot published here, since that was computed from an older one.
+ * The tombstone table itself is maintained by {@link ProductTombstonePurger}.
+ * The catalog is still fully reloaded at a longer interval to repair anything an incremental query missed.
+ * A full reload reads the table in parallel ranges, each in its own transaction, so it is not a consistent snapshot:
+ * a row changed or deleted while it runs may be read in its old state. Such rows converge on the next refresh,
+ * which starts from the time the reload began for both changes and tombstones.
+ */
+@Component
+@ConditionalOnProperty(name = "product.catalog.enabled", havingValue = "true")
+public class ProductCatalogRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalogRefresher.class);
+
+    /**
+     * Rows committed late can carry an updated_at slightly older than the watermark,
+     * so every incremental query re-reads this window. Re-applying a row is harmless.
+     */
+    private static final Duration WATERMARK_OVERLAP = Duration.ofSeconds(5);
+
+    private final ProductRepository productRepository;
+    private final ProductTombstoneRepository productTombstoneRepository;
+    private final ProductScanService productScanService;
+    private final ProductCatalog productCatalog;
+    private final long fullReloadIntervalMs;
+
+    private long lastFullReload;
+    private Instant tombstoneWatermark;
+
+    /**
+     * Constructs a new ProductCatalogRefresher.
+     *
+     * @param productRepository          the ProductRepository to load changed products from
+     * @param productTombstoneRepository the repository to load deleted product IDs from
+     * @param productScanService         the service reading the whole table for full reloads
+     * @param productCatalog             the catalog holder to publish snapshots to
+     * @param fullReloadIntervalMs       the interval between full reloads in milliseconds
+     */
+    public ProductCatalogRefresher(ProductRepository productRepository,
+                                   ProductTombstoneRepository productTombstoneRepository,
+                                   ProductScanService productScanService,
+                                   ProductCatalog productCatalog,
+                                   @Value("${product.catalog.full-reload-interval-ms:600000}") long fullReloadIntervalMs) {
+        this.productRepository = productRepository;
+        this.productTombstoneRepository = productTombstoneRepository;
+        this.productScanService = productScanService;
+        this.productCatalog = productCatalog;
+        this.fullReloadIntervalMs = fullReloadIntervalMs;
+    }
+
+    /**
+     * Performs the initial full load once the application has started.
+     * Both watermarks are taken before the table is read, so changes and deletes racing the load are applied by the next refresh.
+     * Each is read from the clock its column is stamped with: the application clock for updated_at,
+     * the database clock for tombstones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        productCatalog.beginRefresh();
+        Instant started = Instant.now();
+        tombstoneWatermark = productTombstoneRepository.now();
+        productCatalog.publish(CatalogSnapshot.of(productScanService.scan(Collectors.toList()), started));
+        lastFullReload = System.currentTimeMillis();
+        log.info("Loaded {} products into the in-memory catalog", productCatalog.current().size());
+    }
+
+    /**
+     * Applies changes and deletes since the current watermarks, or reloads everything when the full reload interval has passed.
+     */
+    @Scheduled(fixedDelayString = "${product.catalog.refresh-interval-ms:1000}",
+            initialDelayString = "${product.catalog.refresh-interval-ms:1000}")
+    public synchronized void refresh() {
+        CatalogSnapshot current = productCatalog.beginRefresh();
+        if (current == null || System.currentTimeMillis() - lastFullReload >= fullReloadIntervalMs) {
+            load();
+            return;
+        }
+
+        Instant since = current.watermark().minus(WATERMARK_OVERLAP);
+        List<ProductEntity> changed = productRepository.findByUpdatedAtAfter(since);
+        // Read after the changes, so a row deleted while they were read is dropped again below
+        List<ProductTombstone> tombstones =
+                productTombstoneRepository.findDeletedAfter(tombstoneWatermark.minus(WATERMARK_OVERLAP));
+        productCatalog.publish(current.withChanges(changed)
+                .withoutIds(tombstones.stream().map(ProductTombstone::productId).toList()));
+        for (ProductTombstone tombstone : tombstones) {
+            if (tombstone.deletedAt().isAfter(tombstoneWatermark)) {
+                tombstoneWatermark = tombstone.deletedAt();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.dev.product.catalog;
+
+import com.dev.product.repository.ProductTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Maintains the product_tombstones table read by the in-memory catalog and the memory-mapped store.
+ * Creates the table and its trigger at startup and removes tombstones once they are older than the retention period.
+ */
+@Component
+@ConditionalOnExpression("${product.catalog.enabled:false} or ${product.store.enabled:false}")
+public class ProductTombstonePurger {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductTombstonePurger.class);
+
+    private final ProductTombstoneRepository productTombstoneRepository;
+    private final Duration retention;
+
+    /**
+     * Constructs a new ProductTombstonePurger.
+     *
+     * @param productTombstoneRepository the repository holding the tombstones
+     * @param retentionMs                how long tombstones are kept before they are purged, in milliseconds
+     */
+    public ProductTombstonePurger(ProductTombstoneRepository productTombstoneRepository,
+                                  @Value("${product.catalog.tombstone-retention-ms:3600000}") long retentionMs) {
+        this.productTombstoneRepository = productTombstoneRepository;
+        this.retention = Duration.ofMillis(retentionMs);
+    }
+
+    /**
+     * Creates the tombstone table and trigger.
+     */
+    @PostConstruct
+    public void createSchema() {
+        productTombstoneRepository.createSchema();
+    }
+
+    /**
+     * Removes tombstones older than the retention period.
+     * Every node has either read them by then or will fully reload or clear its copy before it serves again.
+     */
+    @Scheduled(fixedDelayString = "${product.catalog.tombstone-purge-interval-ms:600000}",
+            initialDelayString = "${product.catalog.tombstone-purge-interval-ms:600000}")
+    public void purge() {
+        int purged = productTombstoneRepository.purgeBefore(productTombstoneRepository.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} product tombstones", purged);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.dev.product.config;
+
+import com.dev.product.bulkhead.Workload;
+import com.dev.product.bulkhead.WorkloadRoutingDataSource;
+import com.dev.product.tracing.JdbcObservationListener;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Configuration class defining one connection pool per workload.
+ * Both pools connect with the spring.datasource settings; pool sizes, acquisition timeouts and
+ * statement timeouts are configured separately under product.datasource.point and product.datasource.bulk.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Creates the pool for point reads and writes.
+     *
+     * @param properties the common datasource connection properties
+     * @return the point pool
+     */
+    @Bean
+    @ConfigurationProperties("product.datasource.point.hikari")
+    public HikariDataSource pointDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the pool for full-table reads and other bulk work.
+     *
+     * @param properties the common datasource connection properties
+     * @return the bulk pool
+     */
+    @Bean
+    @ConfigurationProperties("product.datasource.bulk.hikari")
+    public HikariDataSource bulkDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the DataSource used by JPA, which routes to the pool of the current workload, or to the bulk pool
+     * for threads that have none, and reports connection acquisition and statements to the JDBC observation listener.
+     *
+     * @param pointDataSource         the point pool
+     * @param bulkDataSource          the bulk pool
+     * @param jdbcObservationListener the listener tracing JDBC calls and logging slow queries
+     * @return the routing DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource pointDataSource,
+                                 HikariDataSource bulkDataSource,
+                                 JdbcObservationListener jdbcObservationListener) {
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource();
+        dataSource.setTargetDataSources(Map.<Object, Object>of(Workload.POINT, pointDataSource, Workload.BULK, bulkDataSource));
+        dataSource.setDefaultTargetDataSource(bulkDataSource);
+        dataSource.afterPropertiesSet();
+        return ProxyDataSourceBuilder.create("product", dataSource)
+                .listener(jdbcObservationListener)
+                .methodListener(jdbcObservationListener)
+                .build();
+    }
+}
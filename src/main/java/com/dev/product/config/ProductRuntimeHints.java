@@ -0,0 +1,42 @@
+package com.dev.product.config;
+
+import com.dev.product.dto.ProductBatchResult;
+import com.dev.product.dto.ProductFields;
+import com.dev.product.dto.ProductHistoryEntry;
+import com.dev.product.dto.ProductJobRequest;
+import com.dev.product.dto.ProductJobResponse;
+import com.dev.product.dto.ProductStatsResponse;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.errorresponse.CustomErrorResponse;
+import com.dev.product.job.ProductJobStatus;
+import com.dev.product.job.ProductJobType;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Registers the reflection hints needed to run the application as a GraalVM native image.
+ * These are the types that go through Jackson: request and response bodies, the catalog snapshot and export files,
+ * and the responses stored and read back by the idempotency service. Jackson reaches them through their
+ * Lombok-generated or record accessors and constructors, which the native image cannot discover on its own.
+ */
+public class ProductRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * Registers the constructors, accessors and fields of every type (de)serialized by Jackson.
+     *
+     * @param hints       the hints to contribute to
+     * @param classLoader the class loader to use
+     */
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : new Class<?>[]{ProductEntity.class, ProductFields.class, CustomErrorResponse.class,
+                ProductBatchResult.class, ProductBatchResult[].class, ProductJobRequest.class, ProductJobResponse.class,
+                ProductJobType.class, ProductJobStatus.class, ProductHistoryEntry.class, ProductStatsResponse.class}) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+    }
+}
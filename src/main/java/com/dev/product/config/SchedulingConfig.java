@@ -0,0 +1,12 @@
+package com.dev.product.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling scheduled background tasks such as snapshot refreshes.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,44 @@
+package com.dev.product.config;
+
+import com.dev.product.tracing.FileSpanExporter;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Configuration class for tracing.
+ * Spans are exported over OTLP when management.otlp.tracing.endpoint is set, and to a local file when
+ * product.tracing.file is set.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Creates the aspect that turns methods of @Observed classes into observations.
+     *
+     * @param observationRegistry the registry observations are created in
+     * @return the aspect
+     */
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    /**
+     * Creates the exporter writing finished spans to a local file.
+     *
+     * @param file the file spans are appended to
+     * @return the exporter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "product.tracing.file")
+    public SpanExporter fileSpanExporter(@Value("${product.tracing.file}") String file) {
+        return new FileSpanExporter(Paths.get(file));
+    }
+}
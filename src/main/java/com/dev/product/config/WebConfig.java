@@ -0,0 +1,70 @@
+package com.dev.product.config;
+
+import com.dev.product.bulkhead.BulkheadInterceptor;
+import com.dev.product.ratelimit.AdmissionControlInterceptor;
+import com.dev.product.ratelimit.RateLimitInterceptor;
+import com.dev.product.snapshot.CatalogFileSnapshotInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC configuration registering the request interceptors for the product endpoints.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final BulkheadInterceptor bulkheadInterceptor;
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+    private final CatalogFileSnapshotInterceptor catalogFileSnapshotInterceptor;
+    private final boolean rateLimitEnabled;
+    private final boolean admissionControlEnabled;
+
+    /**
+     * Constructs a new WebConfig.
+     *
+     * @param rateLimitInterceptor           the per-client rate limiter
+     * @param bulkheadInterceptor            the per-workload bulkheads
+     * @param admissionControlInterceptor    the concurrency limiter
+     * @param catalogFileSnapshotInterceptor the interceptor serving the catalog snapshot, if snapshots are enabled
+     * @param rateLimitEnabled               whether rate limiting is applied
+     * @param admissionControlEnabled        whether admission control is applied
+     */
+    public WebConfig(RateLimitInterceptor rateLimitInterceptor,
+                     BulkheadInterceptor bulkheadInterceptor,
+                     AdmissionControlInterceptor admissionControlInterceptor,
+                     ObjectProvider<CatalogFileSnapshotInterceptor> catalogFileSnapshotInterceptor,
+                     @Value("${product.ratelimit.enabled:true}") boolean rateLimitEnabled,
+                     @Value("${product.admission.enabled:true}") boolean admissionControlEnabled) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.bulkheadInterceptor = bulkheadInterceptor;
+        this.admissionControlInterceptor = admissionControlInterceptor;
+        this.catalogFileSnapshotInterceptor = catalogFileSnapshotInterceptor.getIfAvailable();
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.admissionControlEnabled = admissionControlEnabled;
+    }
+
+    /**
+     * Registers rate limiting first, so rejected clients never occupy a slot, and the bulkheads ahead of admission control,
+     * so bulk requests can never hold more than their own share of the global slots.
+     * The catalog snapshot is served last, once the request has passed all of them.
+     *
+     * @param registry the interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitEnabled) {
+            registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/products", "/products/**");
+        }
+        registry.addInterceptor(bulkheadInterceptor).addPathPatterns("/products", "/products/**");
+        if (admissionControlEnabled) {
+            registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/products", "/products/**");
+        }
+        if (catalogFileSnapshotInterceptor != null) {
+            registry.addInterceptor(catalogFileSnapshotInterceptor).addPathPatterns("/products");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.dev.product.controller;
+
+import com.dev.product.dto.ProductBatchResult;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.service.ProductBatchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for changing many products in one request.
+ */
+@RestController
+@RequestMapping("/products")
+public class ProductBatchController {
+
+    static final String BATCH_PATH = "/batch";
+
+    private final ProductBatchService productBatchService;
+
+    /**
+     * Constructs a new ProductBatchController with the specified ProductBatchService.
+     *
+     * @param productBatchService the ProductBatchService to use for batch changes
+     */
+    public ProductBatchController(ProductBatchService productBatchService) {
+        this.productBatchService = productBatchService;
+    }
+
+    /**
+     * Updates many products at once, e.g. PATCH /products/batch with [{"id": 1, "price": "9.99"}, ...].
+     * Fields left out of an item keep their current value.
+     *
+     * @param products the products holding the ID and the field values to change
+     * @return a ResponseEntity containing one result per item and an HTTP status code
+     */
+    @PatchMapping(BATCH_PATH)
+    public ResponseEntity<List<ProductBatchResult>> updateProducts(@RequestBody List<ProductEntity> products) {
+        return new ResponseEntity<>(productBatchService.updateProducts(products), HttpStatus.OK);
+    }
+
+    /**
+     * Updates many products at most once per Idempotency-Key header value.
+     * Retries with the same key receive the results of the first request.
+     *
+     * @param products       the products holding the ID and the field values to change
+     * @param idempotencyKey the client-chosen key identifying this request across retries
+     * @return a ResponseEntity containing one result per item and an HTTP status code
+     */
+    @PatchMapping(value = BATCH_PATH, headers = ProductController.IDEMPOTENCY_KEY_HEADER)
+    public ResponseEntity<List<ProductBatchResult>> updateProducts(
+            @RequestBody List<ProductEntity> products,
+            @RequestHeader(ProductController.IDEMPOTENCY_KEY_HEADER) String idempotencyKey) {
+        return new ResponseEntity<>(productBatchService.updateProducts(products, idempotencyKey), HttpStatus.OK);
+    }
+
+    /**
+     * Deletes many products at once, e.g. DELETE /products/batch with [1, 2, 3].
+     *
+     * @param ids the IDs of the products to delete
+     * @return a ResponseEntity containing one result per item and an HTTP status code
+     */
+    @DeleteMapping(BATCH_PATH)
+    public ResponseEntity<List<ProductBatchResult>> deleteProducts(@RequestBody List<Long> ids) {
+        return new ResponseEntity<>(productBatchService.deleteProducts(ids), HttpStatus.OK);
+    }
+
+    /**
+     * Deletes many products at most once per Idempotency-Key header value.
+     * Retries with the same key receive the results of the first request.
+     *
+     * @param ids            the IDs of the products to delete
+     * @param idempotencyKey the client-chosen key identifying this request across retries
+     * @return a ResponseEntity containing one result per item and an HTTP status code
+     */
+    @DeleteMapping(value = BATCH_PATH, headers = ProductController.IDEMPOTENCY_KEY_HEADER)
+    public ResponseEntity<List<ProductBatchResult>> deleteProducts(
+            @RequestBody List<Long> ids,
+            @RequestHeader(ProductController.IDEMPOTENCY_KEY_HEADER) String idempotencyKey) {
+        return new ResponseEntity<>(productBatchService.deleteProducts(ids, idempotencyKey), HttpStatus.OK);
+    }
+}
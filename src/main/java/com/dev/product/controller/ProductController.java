@@ -1,5 +1,6 @@
 package com.dev.product.controller;
 
+import com.dev.product.dto.ProductFields;
 import com.dev.product.entity.ProductEntity;
 import com.dev.product.exception.ResourceNotFoundException;
 import com.dev.product.service.ProductService;
@@ -18,6 +19,8 @@ import java.util.Optional;
 @RequestMapping("/products")
 public class ProductController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final ProductService productService;
 
     /**
@@ -40,6 +43,18 @@ public class ProductController {
         return new ResponseEntity<>(products, HttpStatus.OK);
     }
 
+    /**
+     * Retrieves only the requested fields of all products, e.g. GET /products?fields=id,name,price.
+     *
+     * @param fields the names of the fields to include
+     * @return a ResponseEntity containing the selected fields of each product, ordered by ID, and an HTTP status code
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<ProductFields>> findAllProductFields(@RequestParam("fields") List<String> fields) {
+        final List<ProductFields> products = productService.findAllProductFields(fields);
+        return new ResponseEntity<>(products, HttpStatus.OK);
+    }
+
     /**
      * Retrieves a product by its ID.
      *
@@ -67,6 +82,20 @@ public class ProductController {
         return productService.saveProduct(productEntity);
     }
 
+    /**
+     * Saves a new product at most once per Idempotency-Key header value.
+     * Retries with the same key receive the product created by the first request.
+     *
+     * @param productEntity  the product to save
+     * @param idempotencyKey the client-chosen key identifying this request across retries
+     * @return the saved product
+     */
+    @PostMapping(headers = IDEMPOTENCY_KEY_HEADER)
+    public ProductEntity saveProduct(@Valid @RequestBody ProductEntity productEntity,
+                                     @RequestHeader(IDEMPOTENCY_KEY_HEADER) String idempotencyKey) {
+        return productService.saveProduct(productEntity, idempotencyKey);
+    }
+
     /**
      * Updates an existing product.
      *
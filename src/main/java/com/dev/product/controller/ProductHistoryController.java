@@ -0,0 +1,67 @@
+package com.dev.product.controller;
+
+import com.dev.product.dto.ProductHistoryEntry;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.service.ProductHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller exposing the recorded history of products.
+ */
+@RestController
+@RequestMapping("/products")
+public class ProductHistoryController {
+
+    private final ProductHistoryService productHistoryService;
+
+    /**
+     * Constructs a new ProductHistoryController with the specified ProductHistoryService.
+     *
+     * @param productHistoryService the ProductHistoryService to use for reading history
+     */
+    public ProductHistoryController(ProductHistoryService productHistoryService) {
+        this.productHistoryService = productHistoryService;
+    }
+
+    /**
+     * Retrieves the most recent versions of a product, newest first.
+     *
+     * @param id    the ID of the product
+     * @param limit the maximum number of versions to return
+     * @return a ResponseEntity containing the list of versions and an HTTP status code
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<ProductHistoryEntry>> getHistory(@PathVariable("id") Long id,
+                                                                @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return new ResponseEntity<>(productHistoryService.getHistory(id, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves a product as it was at the given time, e.g. GET /products/1?asOf=2024-01-01T00:00:00Z.
+     *
+     * @param id   the ID of the product
+     * @param asOf the point in time in ISO-8601 format
+     * @return a ResponseEntity containing the product and an HTTP status code
+     */
+    @GetMapping(value = "/{id}", params = "asOf")
+    public ResponseEntity<ProductEntity> findProductByIdAsOf(@PathVariable("id") Long id,
+                                                             @RequestParam("asOf") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+        Optional<ProductEntity> product = productHistoryService.findByIdAsOf(id, asOf);
+        if (product.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return new ResponseEntity<>(product.get(), HttpStatus.FOUND);
+    }
+}
@@ -0,0 +1,102 @@
+package com.dev.product.controller;
+
+import com.dev.product.dto.ProductJobRequest;
+import com.dev.product.dto.ProductJobResponse;
+import com.dev.product.service.ProductJobService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * REST controller for long-running catalog jobs.
+ * Jobs are processed in the background; clients poll their state instead of holding a request open.
+ */
+@RestController
+@RequestMapping("/products/jobs")
+public class ProductJobController {
+
+    private final ProductJobService productJobService;
+
+    /**
+     * Constructs a new ProductJobController with the specified ProductJobService.
+     *
+     * @param productJobService the ProductJobService to use for managing jobs
+     */
+    public ProductJobController(ProductJobService productJobService) {
+        this.productJobService = productJobService;
+    }
+
+    /**
+     * Submits a job, e.g. POST /products/jobs with {"type": "REPRICE", "percent": 10}.
+     *
+     * @param request the job to run
+     * @return a ResponseEntity containing the queued job, its location and an HTTP status code
+     */
+    @PostMapping
+    public ResponseEntity<ProductJobResponse> submitJob(@RequestBody ProductJobRequest request) {
+        ProductJobResponse job = productJobService.submitJob(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    /**
+     * Retrieves the state and progress of a job.
+     *
+     * @param id the ID of the job
+     * @return a ResponseEntity containing the job state and an HTTP status code
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductJobResponse> findJobById(@PathVariable("id") Long id) {
+        Optional<ProductJobResponse> job = productJobService.findJobById(id);
+        if (job.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return new ResponseEntity<>(job.get(), HttpStatus.OK);
+    }
+
+    /**
+     * Downloads the output of a finished export, one JSON object per line.
+     *
+     * @param id the ID of the job
+     * @return a ResponseEntity containing the output file and an HTTP status code
+     */
+    @GetMapping("/{id}/output")
+    public ResponseEntity<Resource> findJobOutput(@PathVariable("id") Long id) {
+        Resource output = new FileSystemResource(productJobService.findJobOutput(id));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("products-" + id + ".jsonl").build().toString())
+                .body(output);
+    }
+
+    /**
+     * Cancels a job.
+     *
+     * @param id the ID of the job
+     * @return a ResponseEntity containing the job state and an HTTP status code
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ProductJobResponse> cancelJob(@PathVariable("id") Long id) {
+        return new ResponseEntity<>(productJobService.cancelJob(id), HttpStatus.ACCEPTED);
+    }
+}
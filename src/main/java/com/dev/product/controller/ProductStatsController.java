@@ -0,0 +1,38 @@
+package com.dev.product.controller;
+
+import com.dev.product.dto.ProductStatsResponse;
+import com.dev.product.service.ProductStatsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the aggregated catalog statistics.
+ */
+@RestController
+@RequestMapping("/products/stats")
+public class ProductStatsController {
+
+    private final ProductStatsService productStatsService;
+
+    /**
+     * Constructs a new ProductStatsController with the specified ProductStatsService.
+     *
+     * @param productStatsService the ProductStatsService to use for reading statistics
+     */
+    public ProductStatsController(ProductStatsService productStatsService) {
+        this.productStatsService = productStatsService;
+    }
+
+    /**
+     * Retrieves the product count and the minimum, maximum and average price.
+     *
+     * @return a ResponseEntity containing the statistics and an HTTP status code
+     */
+    @GetMapping
+    public ResponseEntity<ProductStatsResponse> getStats() {
+        return new ResponseEntity<>(productStatsService.getStats(), HttpStatus.OK);
+    }
+}
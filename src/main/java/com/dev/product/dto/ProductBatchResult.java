@@ -0,0 +1,55 @@
+package com.dev.product.dto;
+
+import com.dev.product.entity.ProductEntity;
+
+/**
+ * The outcome of a single item of a batch request.
+ *
+ * @param id      the ID of the product the item refers to
+ * @param status  the HTTP status the item would have received as a single request
+ * @param error   the reason the item was not applied, or null if it was
+ * @param product the product after the change, or null if it was deleted or not changed
+ */
+public record ProductBatchResult(Long id, int status, String error, ProductEntity product) {
+
+    /**
+     * Creates the result of an applied update.
+     *
+     * @param product the updated product
+     * @return the result
+     */
+    public static ProductBatchResult updated(ProductEntity product) {
+        return new ProductBatchResult(product.getId(), 200, null, product);
+    }
+
+    /**
+     * Creates the result of an applied delete.
+     *
+     * @param id the ID of the deleted product
+     * @return the result
+     */
+    public static ProductBatchResult deleted(Long id) {
+        return new ProductBatchResult(id, 204, null, null);
+    }
+
+    /**
+     * Creates the result of an item referring to a product that does not exist.
+     *
+     * @param id the ID of the missing product
+     * @return the result
+     */
+    public static ProductBatchResult notFound(Long id) {
+        return new ProductBatchResult(id, 404, "Product not found", null);
+    }
+
+    /**
+     * Creates the result of an item that was rejected before reaching the database.
+     *
+     * @param id    the ID of the product, which may be null
+     * @param error the reason the item was rejected
+     * @return the result
+     */
+    public static ProductBatchResult invalid(Long id, String error) {
+        return new ProductBatchResult(id, 400, error, null);
+    }
+}
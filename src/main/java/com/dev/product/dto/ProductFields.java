@@ -0,0 +1,16 @@
+package com.dev.product.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A product projected to the fields selected with GET /products?fields=...
+ * Fields that were not selected are null and left out of the JSON.
+ *
+ * @param id          the ID of the product, if selected
+ * @param name        the name of the product, if selected
+ * @param description the description of the product, if selected
+ * @param price       the price of the product, if selected
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductFields(Long id, String name, String description, String price) {
+}
@@ -0,0 +1,21 @@
+package com.dev.product.dto;
+
+import java.time.Instant;
+
+/**
+ * A single recorded version of a product.
+ *
+ * @param productId   the ID of the product
+ * @param changedAt   the time the version became current
+ * @param operation   the kind of change: INSERT, UPDATE or DELETE
+ * @param name        the name of the product after the change
+ * @param description the description of the product after the change
+ * @param price       the price of the product after the change
+ */
+public record ProductHistoryEntry(Long productId,
+                                  Instant changedAt,
+                                  String operation,
+                                  String name,
+                                  String description,
+                                  String price) {
+}
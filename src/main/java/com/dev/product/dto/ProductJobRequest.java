@@ -0,0 +1,14 @@
+package com.dev.product.dto;
+
+import com.dev.product.job.ProductJobType;
+
+import java.math.BigDecimal;
+
+/**
+ * A request to start a long-running catalog job.
+ *
+ * @param type    the operation to run
+ * @param percent the price change in percent for REPRICE jobs, e.g. 10 or -5.5
+ */
+public record ProductJobRequest(ProductJobType type, BigDecimal percent) {
+}
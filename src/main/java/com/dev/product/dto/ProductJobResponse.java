@@ -0,0 +1,56 @@
+package com.dev.product.dto;
+
+import com.dev.product.entity.ProductJobEntity;
+import com.dev.product.job.ProductJobStatus;
+import com.dev.product.job.ProductJobType;
+
+import java.time.Instant;
+
+/**
+ * The state and progress of a long-running catalog job.
+ *
+ * @param id         the ID of the job
+ * @param type       the operation the job performs
+ * @param status     the current state of the job
+ * @param processed  the number of products processed so far
+ * @param total      the number of products when the job started, or null while it is queued
+ * @param progress   the processed share of the total in percent, from 0 to 100
+ * @param createdAt  the time the job was submitted
+ * @param updatedAt  the time the job state last changed
+ * @param finishedAt the time the job finished, or null
+ * @param error      the error that stopped the job, or null
+ * @param output     the path to download the output of a finished export from, or null
+ */
+public record ProductJobResponse(Long id,
+                                 ProductJobType type,
+                                 ProductJobStatus status,
+                                 long processed,
+                                 Long total,
+                                 double progress,
+                                 Instant createdAt,
+                                 Instant updatedAt,
+                                 Instant finishedAt,
+                                 String error,
+                                 String output) {
+
+    /**
+     * Creates the response for a job.
+     *
+     * @param job the job
+     * @return the response
+     */
+    public static ProductJobResponse of(ProductJobEntity job) {
+        double progress;
+        if (job.getStatus() == ProductJobStatus.SUCCEEDED) {
+            progress = 100;
+        } else {
+            // Products created after the job started can push processed past the total.
+            progress = job.getTotal() == null || job.getTotal() == 0 ? 0 : Math.min(100, 100.0 * job.getProcessed() / job.getTotal());
+        }
+        String output = job.getStatus() == ProductJobStatus.SUCCEEDED && job.getOutput() != null
+                ? "/products/jobs/" + job.getId() + "/output"
+                : null;
+        return new ProductJobResponse(job.getId(), job.getType(), job.getStatus(), job.getProcessed(), job.getTotal(),
+                progress, job.getCreatedAt(), job.getUpdatedAt(), job.getFinishedAt(), job.getError(), output);
+    }
+}
@@ -0,0 +1,20 @@
+package com.dev.product.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Aggregated statistics of the product catalog.
+ *
+ * @param productCount the number of products
+ * @param minPrice     the lowest price, or null if no product has a numeric price
+ * @param maxPrice     the highest price, or null if no product has a numeric price
+ * @param averagePrice the average of all numeric prices, or null if there are none
+ * @param reconciledAt the time the aggregates were last checked against the full table
+ */
+public record ProductStatsResponse(long productCount,
+                                   BigDecimal minPrice,
+                                   BigDecimal maxPrice,
+                                   BigDecimal averagePrice,
+                                   Instant reconciledAt) {
+}
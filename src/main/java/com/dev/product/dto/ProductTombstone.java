@@ -0,0 +1,12 @@
+package com.dev.product.dto;
+
+import java.time.Instant;
+
+/**
+ * Record of a deleted product.
+ *
+ * @param productId the ID of the deleted product
+ * @param deletedAt the time the delete was executed
+ */
+public record ProductTombstone(Long productId, Instant deletedAt) {
+}
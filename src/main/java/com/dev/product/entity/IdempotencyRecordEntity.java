@@ -0,0 +1,48 @@
+package com.dev.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Entity class recording the outcome of a request made with an Idempotency-Key header.
+ * Shared by all instances, so a retry that reaches a different node is still answered from the first result.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyRecordEntity {
+
+    /**
+     * The Idempotency-Key sent by the client, prefixed with the operation it was sent to.
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 512)
+    private String key;
+
+    /**
+     * The hash of the request the key was first used with.
+     */
+    @Column(name = "request_hash", nullable = false)
+    private String requestHash;
+
+    /**
+     * The JSON response body, or null while the first request is still being processed.
+     */
+    @Column(name = "response_body", columnDefinition = "text")
+    private String responseBody;
+
+    /**
+     * The time after which the key may be reused: the end of the lease while the first request is still being processed,
+     * and the end of the time to live once its response is stored.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -1,14 +1,18 @@
 package com.dev.product.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
+import java.time.Instant;
+
 /**
  * Entity class representing a product.
  */
@@ -16,7 +20,7 @@ import jakarta.validation.constraints.Positive;
 @Getter
 @Setter
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_updated_at", columnList = "updated_at"))
 public class ProductEntity {
 
     /**
@@ -55,6 +59,15 @@ public class ProductEntity {
     @Setter
     private String price;
 
+    /**
+     * The time of the last insert or update of the product.
+     * Maintained by Hibernate and not part of the API representation.
+     */
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     /**
      * Default constructor required by JPA.
      */
@@ -89,4 +102,15 @@ public class ProductEntity {
         this.setPrice(mergedProduct.getPrice());
         return this;
     }
+
+    /**
+     * Creates a detached copy of this entity.
+     *
+     * @return a new ProductEntity with the same properties
+     */
+    public ProductEntity copy() {
+        ProductEntity copy = new ProductEntity(id, name, price, description);
+        copy.setUpdatedAt(updatedAt);
+        return copy;
+    }
 }
\ No newline at end of file
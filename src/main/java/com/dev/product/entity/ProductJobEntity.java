@@ -0,0 +1,130 @@
+package com.dev.product.entity;
+
+import com.dev.product.job.ProductJobStatus;
+import com.dev.product.job.ProductJobType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Entity class holding the persisted state of a long-running catalog job.
+ * Jobs process products in ascending prod_id order, and the checkpoint is committed together with each chunk,
+ * so a job taken over after a restart continues right after the last committed chunk.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "product_jobs", indexes = @Index(name = "idx_product_jobs_status", columnList = "status"))
+public class ProductJobEntity {
+
+    /**
+     * The unique identifier of the job.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long id;
+
+    /**
+     * The operation the job performs.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private ProductJobType type;
+
+    /**
+     * The current state of the job.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ProductJobStatus status;
+
+    /**
+     * The price change in percent, for reprice jobs.
+     */
+    @Column(name = "percent")
+    private BigDecimal percent;
+
+    /**
+     * The highest prod_id processed so far.
+     */
+    @Column(name = "checkpoint", nullable = false)
+    private long checkpoint;
+
+    /**
+     * The number of products processed so far.
+     */
+    @Column(name = "processed", nullable = false)
+    private long processed;
+
+    /**
+     * The number of products when the job started, used to report progress, or null until a worker has counted them.
+     */
+    @Column(name = "total")
+    private Long total;
+
+    /**
+     * The number of bytes of output committed so far, for jobs writing a file.
+     */
+    @Column(name = "output_size", nullable = false)
+    private long outputSize;
+
+    /**
+     * The absolute path of the file the job writes its output to, for jobs writing a file.
+     */
+    @Column(name = "output", length = 1000)
+    private String output;
+
+    /**
+     * Whether cancellation was requested while the job was running.
+     */
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    /**
+     * The instance currently processing the job, or null if it was never claimed.
+     */
+    @Column(name = "owner")
+    private String owner;
+
+    /**
+     * The time until which the owner holds the job; afterwards any instance may take it over.
+     */
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    /**
+     * The error that stopped the job, if it failed.
+     */
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    /**
+     * The time the job was submitted.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * The time the job state last changed.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * The time the job finished, or null while it is still queued or running.
+     */
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+}
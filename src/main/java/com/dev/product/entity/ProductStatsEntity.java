@@ -0,0 +1,71 @@
+package com.dev.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Entity class holding the aggregated catalog statistics in a single summary row.
+ * The row is updated incrementally from the deltas that database triggers journal for every product write,
+ * and periodically reconciled against the products table.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "product_stats")
+public class ProductStatsEntity {
+
+    /**
+     * The ID of the single summary row.
+     */
+    public static final long SUMMARY_ID = 1L;
+
+    /**
+     * The identifier of the summary row.
+     */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The number of products.
+     */
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+
+    /**
+     * The number of products with a numeric price.
+     */
+    @Column(name = "priced_count", nullable = false)
+    private long pricedCount;
+
+    /**
+     * The sum of all numeric prices.
+     */
+    @Column(name = "price_sum", nullable = false, precision = 38, scale = 2)
+    private BigDecimal priceSum;
+
+    /**
+     * The lowest numeric price, or null if there is none.
+     */
+    @Column(name = "min_price", precision = 38, scale = 2)
+    private BigDecimal minPrice;
+
+    /**
+     * The highest numeric price, or null if there is none.
+     */
+    @Column(name = "max_price", precision = 38, scale = 2)
+    private BigDecimal maxPrice;
+
+    /**
+     * The time of the last full reconciliation against the products table.
+     */
+    @Column(name = "reconciled_at")
+    private Instant reconciledAt;
+}
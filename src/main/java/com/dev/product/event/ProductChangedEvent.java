@@ -0,0 +1,31 @@
+package com.dev.product.event;
+
+import com.dev.product.entity.ProductEntity;
+
+/**
+ * Event published by the product service after a product has been created, updated or deleted.
+ *
+ * @param id     the ID of the changed product
+ * @param before a copy of the product before the change, or null if it was created
+ * @param after  the product after the change, or null if it was deleted
+ */
+public record ProductChangedEvent(Long id, ProductEntity before, ProductEntity after) {
+
+    /**
+     * Returns whether this event describes a newly created product.
+     *
+     * @return true if the product did not exist before
+     */
+    public boolean isCreated() {
+        return before == null;
+    }
+
+    /**
+     * Returns whether this event describes a deleted product.
+     *
+     * @return true if the product no longer exists
+     */
+    public boolean isDeleted() {
+        return after == null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.dev.product.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception class representing a request that conflicts with one still being processed.
+ * Mapped to the HTTP status code 409 (CONFLICT).
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new ConflictException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.dev.product.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception class representing a request with invalid parameters.
+ * Mapped to the HTTP status code 400 (BAD_REQUEST).
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidRequestException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
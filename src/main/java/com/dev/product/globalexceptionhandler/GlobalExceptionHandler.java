@@ -1,7 +1,11 @@
 package com.dev.product.globalexceptionhandler;
 
 import com.dev.product.errorresponse.CustomErrorResponse;
+import com.dev.product.exception.ConflictException;
+import com.dev.product.exception.InvalidRequestException;
 import com.dev.product.exception.ResourceNotFoundException;
+import com.dev.product.exception.TooManyRequestsException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -59,4 +63,60 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
+
+    /**
+     * Handles the InvalidRequestException and returns a custom error response.
+     *
+     * @param ex the InvalidRequestException instance
+     * @return a ResponseEntity with the custom error response and HTTP status BAD_REQUEST
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<CustomErrorResponse> handleInvalidRequestException(InvalidRequestException ex) {
+        CustomErrorResponse errorResponse = new CustomErrorResponse(
+                LocalDateTime.now().toString(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Request",
+                List.of(ex.getMessage())
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles the ConflictException and returns a custom error response.
+     *
+     * @param ex the ConflictException instance
+     * @return a ResponseEntity with the custom error response and HTTP status CONFLICT
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<CustomErrorResponse> handleConflictException(ConflictException ex) {
+        CustomErrorResponse errorResponse = new CustomErrorResponse(
+                LocalDateTime.now().toString(),
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                List.of(ex.getMessage())
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles the TooManyRequestsException and returns a custom error response.
+     *
+     * @param ex the TooManyRequestsException instance
+     * @return a ResponseEntity with the custom error response, a Retry-After header and HTTP status TOO_MANY_REQUESTS
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<CustomErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex) {
+        CustomErrorResponse errorResponse = new CustomErrorResponse(
+                LocalDateTime.now().toString(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                List.of(ex.getMessage())
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.dev.product.history;
+
+import com.dev.product.dto.ProductHistoryEntry;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import com.dev.product.repository.ProductHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Records every product change in the history table without adding a database round trip to the write path.
+ * Changes are queued in memory and appended in JDBC batches by a background task.
+ * When the queue is full the writing thread flushes it itself, so a burst of writes is slowed down instead of losing history.
+ * A batch that fails to be written is kept and retried before anything else is drained, and while it keeps failing
+ * writers are held back once the queue is full, so an outage of the history table never drops a change.
+ */
+@Component
+public class ProductHistoryRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductHistoryRecorder.class);
+
+    /**
+     * The number of future monthly partitions kept ready, so inserts rarely fall back to the DEFAULT partition.
+     */
+    private static final int PARTITIONS_AHEAD = 3;
+
+    private final ProductHistoryRepository productHistoryRepository;
+    private final BlockingQueue<ProductHistoryEntry> queue;
+    private final int batchSize;
+    private final long retryBackoffMs;
+
+    /**
+     * The batch currently being written, kept until the database accepts it.
+     */
+    private final List<ProductHistoryEntry> batch;
+
+    /**
+     * Constructs a new ProductHistoryRecorder.
+     *
+     * @param productHistoryRepository the repository the history is written to
+     * @param queueCapacity            the maximum number of changes waiting to be written
+     * @param batchSize                the maximum number of changes written per batch
+     * @param retryBackoffMs           how long a writer waits before retrying when the queue is full and the database is failing
+     */
+    public ProductHistoryRecorder(ProductHistoryRepository productHistoryRepository,
+                                  @Value("${product.history.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${product.history.batch-size:500}") int batchSize,
+                                  @Value("${product.history.retry-backoff-ms:100}") long retryBackoffMs) {
+        this.productHistoryRepository = productHistoryRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.retryBackoffMs = retryBackoffMs;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Creates the history table and the partitions for the current and upcoming months.
+     */
+    @PostConstruct
+    @Scheduled(cron = "${product.history.partition-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        productHistoryRepository.createSchema();
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= PARTITIONS_AHEAD; i++) {
+            productHistoryRepository.createPartition(current.plusMonths(i));
+        }
+    }
+
+    /**
+     * Queues a product change for the history table.
+     * When the queue is full the change is written by the calling thread, which waits and retries while the database is failing.
+     *
+     * @param event the change published by the product service
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductHistoryEntry entry = toEntry(event);
+        boolean interrupted = false;
+        while (!queue.offer(entry)) {
+            if (!writeQueued()) {
+                try {
+                    Thread.sleep(retryBackoffMs);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes all queued changes in batches.
+     */
+    @Scheduled(fixedDelayString = "${product.history.flush-interval-ms:200}")
+    @PreDestroy
+    public void flush() {
+        writeQueued();
+    }
+
+    /**
+     * Writes the pending batch, then drains and writes the queue batch by batch.
+     * A batch that fails stays pending, so the next call retries the same entries before draining more.
+     *
+     * @return true if everything queued was written, false if a batch failed
+     */
+    private synchronized boolean writeQueued() {
+        while (!batch.isEmpty() || queue.drainTo(batch, batchSize) > 0) {
+            try {
+                productHistoryRepository.insertAll(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} product history entries, retrying", batch.size(), e);
+                return false;
+            }
+            batch.clear();
+        }
+        return true;
+    }
+
+    /**
+     * Converts a change into a history entry.
+     * Every entry is stamped with the application clock, the clock Hibernate stamps updated_at with, so entries are
+     * ordered by one clock: updates carry their updated_at and deletes the time they are published.
+     */
+    private static ProductHistoryEntry toEntry(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            return new ProductHistoryEntry(event.id(), Instant.now(), "DELETE", null, null, null);
+        }
+        ProductEntity product = event.after();
+        Instant changedAt = product.getUpdatedAt() != null ? product.getUpdatedAt() : Instant.now();
+        return new ProductHistoryEntry(event.id(), changedAt, event.isCreated() ? "INSERT" : "UPDATE",
+                product.getName(), product.getDescription(), product.getPrice());
+    }
+}
@@ -0,0 +1,325 @@
+package com.dev.product.idempotency;
+
+import com.dev.product.entity.IdempotencyRecordEntity;
+import com.dev.product.exception.ConflictException;
+import com.dev.product.exception.InvalidRequestException;
+import com.dev.product.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs write operations at most once per Idempotency-Key and operation.
+ * Keys are scoped to the operation they were sent to, so the same key sent to two endpoints names two separate requests.
+ * Responses are kept in a bounded in-memory store with a time to live and in the idempotency_keys table,
+ * which coordinates instances. A duplicate that arrives while the first request is still running waits for its result,
+ * and claims the key itself if the first request fails and releases it.
+ * A claim without a response only holds the key for a short lease, which is renewed while the request runs, so a key
+ * claimed by an instance that died before storing the response can be taken over once the lease runs out.
+ * If the shared record cannot be completed or released after the action, the response is still returned and the
+ * record update is retried in the background, while the lease is still renewed.
+ */
+@Component
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final long waitTimeoutMs;
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> leased = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> pendingCompletions = new ConcurrentHashMap<>();
+    private final Set<String> pendingReleases = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a new IdempotencyService.
+     *
+     * @param idempotencyRecordRepository the repository of shared key records
+     * @param objectMapper                the ObjectMapper used to store and replay responses
+     * @param ttl                         how long a key and its response are kept
+     * @param lease                       how long a claim without a response holds the key unless it is renewed
+     * @param waitTimeoutMs               how long a duplicate waits for the first request to finish
+     * @param maxEntries                  the maximum number of keys held in memory
+     */
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${product.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${product.idempotency.lease:PT30S}") Duration lease,
+                              @Value("${product.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+                              @Value("${product.idempotency.max-entries:10000}") int maxEntries) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Runs the action unless a request with the same key has already been made to the same operation,
+     * in which case its response is returned.
+     *
+     * @param operation    the operation the key is scoped to, such as the method and route of the endpoint
+     * @param clientKey    the Idempotency-Key sent by the client
+     * @param request      the request payload, used to detect a key reused for a different request
+     * @param responseType the type of the response
+     * @param action       the write operation to run at most once
+     * @param <T>          the response type
+     * @return the response of the first request made with the key
+     * @throws InvalidRequestException if the key is invalid or was used with a different request
+     * @throws ConflictException       if the first request is still running after the wait timeout
+     */
+    public <T> T execute(String operation, String clientKey, Object request, Class<T> responseType, Supplier<T> action) {
+        if (clientKey.isBlank() || clientKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = operation + " " + clientKey;
+        String requestHash = hash(request);
+        Entry mine = new Entry(new CompletableFuture<>(), requestHash, System.currentTimeMillis() + ttl.toMillis());
+        Entry existing;
+        while ((existing = entries.putIfAbsent(key, mine)) != null) {
+            if (!existing.isExpired()) {
+                return read(await(existing, requestHash), responseType);
+            }
+            entries.remove(key, existing);
+        }
+        evictIfFull();
+
+        try {
+            long deadline = System.currentTimeMillis() + waitTimeoutMs;
+            while (idempotencyRecordRepository.claim(key, requestHash, leaseExpiry()) == 0) {
+                String body = awaitOtherInstance(key, requestHash, deadline);
+                if (body != null) {
+                    mine.response().complete(body);
+                    return read(body, responseType);
+                }
+                pause(deadline);
+            }
+            leased.add(key);
+
+            T response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                release(key);
+                throw e;
+            }
+            // The write has happened, so from here on the response must reach the client and every later retry.
+            String body = write(response);
+            mine.response().complete(body);
+            try {
+                idempotencyRecordRepository.complete(key, body, Instant.ofEpochMilli(mine.expiresAt()));
+                leased.remove(key);
+            } catch (RuntimeException e) {
+                log.warn("Failed to store the response for Idempotency-Key {}, retrying in the background", key, e);
+                pendingCompletions.put(key, body);
+            }
+            return response;
+        } catch (RuntimeException e) {
+            entries.remove(key, mine);
+            mine.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Extends the lease of every key claimed by a request on this instance that has not stored its response yet,
+     * so other instances do not take the key over while the request is still running.
+     */
+    @Scheduled(fixedDelayString = "${product.idempotency.lease-renew-interval-ms:10000}")
+    public void renewLeases() {
+        if (leased.isEmpty()) {
+            return;
+        }
+        try {
+            idempotencyRecordRepository.renew(Set.copyOf(leased), leaseExpiry());
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew the leases of {} Idempotency-Keys", leased.size(), e);
+        }
+    }
+
+    /**
+     * Retries storing responses and releasing keys whose shared record could not be updated.
+     */
+    @Scheduled(fixedDelayString = "${product.idempotency.retry-interval-ms:1000}")
+    public void retryPending() {
+        pendingCompletions.forEach((key, body) -> {
+            try {
+                idempotencyRecordRepository.complete(key, body, Instant.now().plus(ttl));
+                pendingCompletions.remove(key, body);
+                leased.remove(key);
+            } catch (RuntimeException e) {
+                log.warn("Still failing to store the response for Idempotency-Key {}", key, e);
+            }
+        });
+        for (String key : pendingReleases) {
+            try {
+                idempotencyRecordRepository.deleteById(key);
+                pendingReleases.remove(key);
+            } catch (RuntimeException e) {
+                log.warn("Still failing to release Idempotency-Key {}", key, e);
+            }
+        }
+    }
+
+    /**
+     * Removes expired keys from memory and from the shared table.
+     */
+    @Scheduled(fixedDelayString = "${product.idempotency.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        entries.values().removeIf(Entry::isExpired);
+        idempotencyRecordRepository.deleteExpired(Instant.now());
+    }
+
+    private String await(Entry entry, String requestHash) {
+        if (!entry.requestHash().equals(requestHash)) {
+            throw new InvalidRequestException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return entry.response().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for the request with this Idempotency-Key");
+        }
+    }
+
+    private void release(String key) {
+        // Even if the delete fails, the lease then runs out and the key can be claimed again.
+        leased.remove(key);
+        try {
+            idempotencyRecordRepository.deleteById(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release Idempotency-Key {}, retrying in the background", key, e);
+            pendingReleases.add(key);
+        }
+    }
+
+    /**
+     * Waits for the request holding the key to store its response.
+     *
+     * @return the stored response, or null if the key was released or its lease ran out and it can be claimed again
+     */
+    private String awaitOtherInstance(String key, String requestHash, long deadline) {
+        while (true) {
+            Optional<IdempotencyRecordEntity> record = idempotencyRecordRepository.findById(key);
+            if (record.isEmpty() || record.get().getExpiresAt().isBefore(Instant.now())) {
+                return null;
+            }
+            if (!record.get().getRequestHash().equals(requestHash)) {
+                throw new InvalidRequestException("Idempotency-Key was already used for a different request");
+            }
+            if (record.get().getResponseBody() != null) {
+                return record.get().getResponseBody();
+            }
+            String pending = pendingCompletions.get(key);
+            if (pending != null) {
+                return pending;
+            }
+            pause(deadline);
+        }
+    }
+
+    private void pause(long deadline) {
+        if (System.currentTimeMillis() >= deadline) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        }
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for the request with this Idempotency-Key");
+        }
+    }
+
+    private Instant leaseExpiry() {
+        return Instant.now().plus(lease);
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.values().removeIf(Entry::isExpired);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            if (iterator.next().response().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash request", e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize stored response", e);
+        }
+    }
+
+    /**
+     * An in-memory record of a key.
+     *
+     * @param response    completed with the JSON response once the first request has finished
+     * @param requestHash the hash of the first request
+     * @param expiresAt   the expiry time in epoch milliseconds
+     */
+    private record Entry(CompletableFuture<String> response, String requestHash, long expiresAt) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.dev.product.job;
+
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.entity.ProductJobEntity;
+import com.dev.product.repository.ProductBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes every product as one JSON object per line to a file in the export directory, recorded as the job's output.
+ * Before each chunk is appended the file is cut back to the size recorded with the last checkpoint,
+ * so lines written by a chunk that did not commit are not duplicated when the job resumes.
+ * An instance that takes the job over and cannot see that file, or sees a shorter one, starts the export over in a new file.
+ * The export directory may therefore be node-local; with shared storage a taken-over export continues where it stopped.
+ */
+@Component
+public class ExportJobHandler implements ProductJobHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobHandler.class);
+
+    private static final byte NEWLINE = '\n';
+
+    private final ProductBatchRepository productBatchRepository;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+
+    /**
+     * Constructs a new ExportJobHandler.
+     *
+     * @param productBatchRepository the repository used to read chunks
+     * @param objectMapper           the mapper used to serialize products
+     * @param directory              the directory export files are written to
+     */
+    public ExportJobHandler(ProductBatchRepository productBatchRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${product.job.export-directory:product-exports}") String directory) {
+        this.productBatchRepository = productBatchRepository;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Returns the type of job this handler runs.
+     *
+     * @return the job type
+     */
+    @Override
+    public ProductJobType type() {
+        return ProductJobType.EXPORT;
+    }
+
+    /**
+     * Appends the next chunk of products to the export file.
+     * The export starts over from the first product in a new file if the committed output is not available on this instance.
+     *
+     * @param job       the job, as last committed
+     * @param chunkSize the maximum number of products to process
+     * @return the outcome of the chunk, with the export file and its new size
+     */
+    @Override
+    public ProductJobChunk processChunk(ProductJobEntity job, int chunkSize) {
+        try {
+            Path output = job.getOutput() == null ? null : Paths.get(job.getOutput());
+            long checkpoint = job.getCheckpoint();
+            long processed = job.getProcessed();
+            long outputSize = job.getOutputSize();
+            if (output == null || !Files.isRegularFile(output) || Files.size(output) < outputSize) {
+                if (output != null) {
+                    log.info("Output of export job {} is not available at {}, starting over", job.getId(), output);
+                    Files.deleteIfExists(output);
+                }
+                output = newOutput(job.getId());
+                checkpoint = 0;
+                processed = 0;
+                outputSize = 0;
+            }
+
+            List<ProductEntity> products = productBatchRepository.findRange(checkpoint, chunkSize, false);
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.truncate(outputSize);
+                channel.position(outputSize);
+                for (ProductEntity product : products) {
+                    byte[] json = objectMapper.writeValueAsBytes(product);
+                    ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put(NEWLINE).flip();
+                    while (line.hasRemaining()) {
+                        channel.write(line);
+                    }
+                }
+                channel.force(false);
+                long lastId = products.isEmpty() ? checkpoint : products.get(products.size() - 1).getId();
+                return new ProductJobChunk(lastId, products.size(), processed + products.size(), channel.position(),
+                        output.toString(), List.of());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export of job " + job.getId(), e);
+        }
+    }
+
+    /**
+     * Creates a new, empty export file for a job.
+     * Every attempt gets its own file, so a file left behind by an earlier attempt is never mistaken for the current output.
+     */
+    private Path newOutput(Long jobId) throws IOException {
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory.toAbsolutePath(), "products-" + jobId + "-", ".jsonl");
+    }
+}
@@ -0,0 +1,19 @@
+package com.dev.product.job;
+
+import com.dev.product.event.ProductChangedEvent;
+
+import java.util.List;
+
+/**
+ * The outcome of processing one chunk of a job.
+ *
+ * @param lastId     the highest prod_id in the chunk
+ * @param count      the number of products in the chunk; fewer than requested means the job is complete
+ * @param processed  the number of products processed so far, including this chunk
+ * @param outputSize the number of bytes of output written so far
+ * @param output     the file the output is written to, or null for jobs without a file
+ * @param events     the product changes to publish once the chunk has committed
+ */
+public record ProductJobChunk(long lastId, int count, long processed, long outputSize, String output,
+                              List<ProductChangedEvent> events) {
+}
@@ -0,0 +1,37 @@
+package com.dev.product.job;
+
+import com.dev.product.dto.ProductJobRequest;
+import com.dev.product.entity.ProductJobEntity;
+
+/**
+ * The operation behind one type of job.
+ * Chunks are processed inside a transaction that also records the checkpoint, so database changes made by a handler
+ * are applied exactly once even if the job is resumed by another instance.
+ */
+public interface ProductJobHandler {
+
+    /**
+     * Returns the type of job this handler runs.
+     *
+     * @return the job type
+     */
+    ProductJobType type();
+
+    /**
+     * Checks the parameters of a request before the job is created.
+     *
+     * @param request the submitted request
+     * @throws com.dev.product.exception.InvalidRequestException if a parameter is missing or invalid
+     */
+    default void validate(ProductJobRequest request) {
+    }
+
+    /**
+     * Processes the products following the checkpoint of the job.
+     *
+     * @param job       the job, as last committed
+     * @param chunkSize the maximum number of products to process
+     * @return the outcome of the chunk
+     */
+    ProductJobChunk processChunk(ProductJobEntity job, int chunkSize);
+}
@@ -0,0 +1,242 @@
+package com.dev.product.job;
+
+import com.dev.product.bulkhead.Workload;
+import com.dev.product.bulkhead.WorkloadContext;
+import com.dev.product.entity.ProductJobEntity;
+import com.dev.product.event.ProductChangedEvent;
+import com.dev.product.repository.ProductJobRepository;
+import com.dev.product.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs jobs on a bounded pool of worker threads.
+ * The product_jobs table is the queue: each instance claims jobs no one holds, up to its free capacity,
+ * and keeps a lease on each claimed job that every committed chunk extends. Jobs of an instance that stopped
+ * are taken over by any instance once their lease has expired, and continue from their last checkpoint.
+ * A job is sized by its worker when it starts, so submitting one never counts the products table.
+ */
+@Component
+public class ProductJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductJobRunner.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final String owner = UUID.randomUUID().toString();
+    private final ProductJobRepository productJobRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<ProductJobType, ProductJobHandler> handlers = new EnumMap<>(ProductJobType.class);
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService dispatcher;
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+    private final int chunkSize;
+    private final long leaseMs;
+
+    /**
+     * Constructs a new ProductJobRunner.
+     *
+     * @param productJobRepository the repository holding the job state
+     * @param productRepository    the ProductRepository used to size jobs when they start
+     * @param transactionTemplate  the template running each chunk in one transaction
+     * @param eventPublisher       the publisher notified of the product changes made by jobs
+     * @param handlers             the handlers of all job types
+     * @param workers              the number of jobs processed at once
+     * @param queueCapacity        the number of claimed jobs that may wait for a worker
+     * @param chunkSize            the number of products processed per chunk
+     * @param leaseMs              how long a claim holds without a committed chunk
+     */
+    public ProductJobRunner(ProductJobRepository productJobRepository,
+                            ProductRepository productRepository,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            List<ProductJobHandler> handlers,
+                            @Value("${product.job.workers:2}") int workers,
+                            @Value("${product.job.queue-capacity:8}") int queueCapacity,
+                            @Value("${product.job.chunk-size:500}") int chunkSize,
+                            @Value("${product.job.lease-ms:60000}") long leaseMs) {
+        this.productJobRepository = productJobRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        for (ProductJobHandler handler : handlers) {
+            this.handlers.put(handler.type(), handler);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "product-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.dispatcher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "product-job-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.chunkSize = chunkSize;
+        this.leaseMs = leaseMs;
+    }
+
+    /**
+     * Returns the handler of a job type.
+     *
+     * @param type the job type
+     * @return the handler, or null if no handler is registered for the type
+     */
+    public ProductJobHandler handler(ProductJobType type) {
+        return handlers.get(type);
+    }
+
+    /**
+     * Claims as many unheld jobs as there is free capacity for and hands them to the workers.
+     * Runs at startup, periodically to take over jobs whose lease expired, and right after a job is submitted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${product.job.poll-interval-ms:5000}", initialDelayString = "${product.job.poll-interval-ms:5000}")
+    public synchronized void dispatch() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        int capacity = executor.getMaximumPoolSize() - executor.getActiveCount() + executor.getQueue().remainingCapacity();
+        if (capacity <= 0) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        List<Long> claimable = productJobRepository.findClaimable(ProductJobStatus.QUEUED, ProductJobStatus.RUNNING,
+                now, Limit.of(capacity));
+        for (Long id : claimable) {
+            if (productJobRepository.claim(id, owner, ProductJobStatus.QUEUED, ProductJobStatus.RUNNING,
+                    now.plusMillis(leaseMs), now) == 1) {
+                executor.execute(() -> run(id));
+            }
+        }
+    }
+
+    /**
+     * Runs {@link #dispatch()} on a background thread, so a submitting request waits neither for the claim queries
+     * nor for a dispatch already in progress. Requests made while one is pending are folded into it.
+     */
+    public void requestDispatch() {
+        if (!dispatchRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> {
+                dispatchRequested.set(false);
+                try {
+                    dispatch();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to dispatch jobs, the next poll retries", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the jobs stay queued in the table for another instance.
+            dispatchRequested.set(false);
+        }
+    }
+
+    /**
+     * Stops the workers and releases their jobs, so another instance can resume them without waiting for the lease.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatcher.shutdownNow();
+        executor.shutdownNow();
+        executor.awaitTermination(leaseMs, TimeUnit.MILLISECONDS);
+        productJobRepository.release(owner, ProductJobStatus.RUNNING);
+    }
+
+    /**
+     * Processes a claimed job chunk by chunk until it completes, is cancelled, fails or is lost to another instance.
+     */
+    void run(Long id) {
+        try {
+            WorkloadContext.callAs(Workload.BULK, () -> {
+                size(id);
+                while (!Thread.currentThread().isInterrupted() && runChunk(id)) {
+                    // Each chunk commits on its own.
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Job {} failed", id, e);
+            String error = String.valueOf(e.getMessage());
+            productJobRepository.finish(id, owner, ProductJobStatus.FAILED,
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error, Instant.now());
+        }
+    }
+
+    /**
+     * Counts the products of a job that has not been sized yet, on the worker instead of the submitting request.
+     */
+    private void size(Long id) {
+        ProductJobEntity job = productJobRepository.findById(id).orElse(null);
+        if (job != null && job.getTotal() == null) {
+            productJobRepository.size(id, owner, productRepository.count(), Instant.now());
+        }
+    }
+
+    /**
+     * Processes the next chunk of a job and commits it together with its checkpoint.
+     *
+     * @return true if the job has more chunks to process
+     */
+    private boolean runChunk(Long id) {
+        List<ProductChangedEvent> events = new ArrayList<>();
+        Boolean more = transactionTemplate.execute(status -> {
+            ProductJobEntity job = productJobRepository.findById(id).orElse(null);
+            if (job == null || !owner.equals(job.getOwner()) || job.getStatus() != ProductJobStatus.RUNNING) {
+                return false;
+            }
+            Instant now = Instant.now();
+            if (job.isCancelRequested()) {
+                productJobRepository.finish(id, owner, ProductJobStatus.CANCELLED, null, now);
+                return false;
+            }
+
+            ProductJobChunk chunk = handlers.get(job.getType()).processChunk(job, chunkSize);
+            if (productJobRepository.checkpoint(id, owner, chunk.lastId(), chunk.processed(), chunk.outputSize(),
+                    chunk.output(), now.plusMillis(leaseMs), now) == 0) {
+                // Another instance took the job over; its next chunk starts from the last committed checkpoint.
+                status.setRollbackOnly();
+                return false;
+            }
+            events.addAll(chunk.events());
+            if (chunk.count() < chunkSize) {
+                productJobRepository.finish(id, owner, ProductJobStatus.SUCCEEDED, null, now);
+                return false;
+            }
+            return true;
+        });
+        events.forEach(eventPublisher::publishEvent);
+        return Boolean.TRUE.equals(more);
+    }
+}
@@ -0,0 +1,41 @@
+package com.dev.product.job;
+
+/**
+ * The lifecycle states of a job.
+ */
+public enum ProductJobStatus {
+
+    /**
+     * Submitted and waiting for a free worker.
+     */
+    QUEUED,
+
+    /**
+     * Claimed by an instance and being processed chunk by chunk.
+     */
+    RUNNING,
+
+    /**
+     * Processed every product.
+     */
+    SUCCEEDED,
+
+    /**
+     * Stopped by an error; the error message is recorded with the job.
+     */
+    FAILED,
+
+    /**
+     * Stopped on request before processing every product.
+     */
+    CANCELLED;
+
+    /**
+     * Returns whether a job in this state will not change anymore.
+     *
+     * @return true if the job has finished
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
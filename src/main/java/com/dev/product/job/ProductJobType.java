@@ -0,0 +1,17 @@
+package com.dev.product.job;
+
+/**
+ * The kinds of long-running catalog operations that can be submitted as jobs.
+ */
+public enum ProductJobType {
+
+    /**
+     * Changes every numeric price by a percentage.
+     */
+    REPRICE,
+
+    /**
+     * Writes every product to a JSON lines file.
+     */
+    EXPORT
+}
@@ -0,0 +1,114 @@
+package com.dev.product.job;
+
+import com.dev.product.dto.ProductJobRequest;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.entity.ProductJobEntity;
+import com.dev.product.event.ProductChangedEvent;
+import com.dev.product.exception.InvalidRequestException;
+import com.dev.product.repository.ProductBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Changes every numeric price by a percentage, rounded to two decimals.
+ * Each chunk locks its products and rewrites their prices with one set-based UPDATE; prices that are not plain
+ * decimal numbers are left as they are. A price that would round to zero is left as it is too, since the set-based
+ * update bypasses the entity's constraint that prices are positive.
+ */
+@Component
+public class RepriceJobHandler implements ProductJobHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(RepriceJobHandler.class);
+
+    private static final Pattern NUMERIC_PRICE = Pattern.compile("[0-9]+(\\.[0-9]+)?");
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final ProductBatchRepository productBatchRepository;
+
+    /**
+     * Constructs a new RepriceJobHandler with the specified ProductBatchRepository.
+     *
+     * @param productBatchRepository the repository used to read and update chunks
+     */
+    public RepriceJobHandler(ProductBatchRepository productBatchRepository) {
+        this.productBatchRepository = productBatchRepository;
+    }
+
+    /**
+     * Returns the type of job this handler runs.
+     *
+     * @return the job type
+     */
+    @Override
+    public ProductJobType type() {
+        return ProductJobType.REPRICE;
+    }
+
+    /**
+     * Requires a percentage above -100, so prices stay positive.
+     *
+     * @param request the submitted request
+     * @throws InvalidRequestException if the percentage is missing or not above -100
+     */
+    @Override
+    public void validate(ProductJobRequest request) {
+        if (request.percent() == null) {
+            throw new InvalidRequestException("percent is required for REPRICE jobs");
+        }
+        if (request.percent().compareTo(HUNDRED.negate()) <= 0) {
+            throw new InvalidRequestException("percent must be greater than -100");
+        }
+    }
+
+    /**
+     * Reprices the next chunk of products.
+     *
+     * @param job       the job, as last committed
+     * @param chunkSize the maximum number of products to process
+     * @return the outcome of the chunk, with one change event per repriced product
+     */
+    @Override
+    public ProductJobChunk processChunk(ProductJobEntity job, int chunkSize) {
+        List<ProductEntity> products = productBatchRepository.findRange(job.getCheckpoint(), chunkSize, true);
+        if (products.isEmpty()) {
+            return new ProductJobChunk(job.getCheckpoint(), 0, job.getProcessed(), job.getOutputSize(), job.getOutput(),
+                    List.of());
+        }
+
+        BigDecimal factor = HUNDRED.add(job.getPercent()).divide(HUNDRED);
+        Map<Long, ProductEntity> before = new HashMap<>();
+        List<ProductEntity> updates = new ArrayList<>();
+        for (ProductEntity product : products) {
+            if (product.getPrice() != null && NUMERIC_PRICE.matcher(product.getPrice()).matches()) {
+                BigDecimal price = new BigDecimal(product.getPrice()).multiply(factor)
+                        .setScale(2, RoundingMode.HALF_UP);
+                if (price.signum() <= 0) {
+                    log.warn("Job {} left the price of product {} unchanged, it would drop to {}",
+                            job.getId(), product.getId(), price.toPlainString());
+                    continue;
+                }
+                updates.add(new ProductEntity(product.getId(), null, price.toPlainString(), null));
+                before.put(product.getId(), product);
+            }
+        }
+
+        List<ProductChangedEvent> events = new ArrayList<>(updates.size());
+        if (!updates.isEmpty()) {
+            for (ProductEntity updated : productBatchRepository.updateAll(updates)) {
+                events.add(new ProductChangedEvent(updated.getId(), before.get(updated.getId()), updated.copy()));
+            }
+        }
+        long lastId = products.get(products.size() - 1).getId();
+        return new ProductJobChunk(lastId, products.size(), job.getProcessed() + products.size(), job.getOutputSize(),
+                job.getOutput(), events);
+    }
+}
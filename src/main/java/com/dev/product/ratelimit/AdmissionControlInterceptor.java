@@ -0,0 +1,71 @@
+package com.dev.product.ratelimit;
+
+import com.dev.product.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor limiting the number of product requests executing at once.
+ * A request that cannot start within the queue wait target is shed with 429 instead of piling up on the database pool.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED = AdmissionControlInterceptor.class.getName() + ".ADMITTED";
+
+    private final Semaphore permits;
+    private final long maxQueueWaitMs;
+    private final Counter rejections;
+
+    /**
+     * Constructs a new AdmissionControlInterceptor.
+     *
+     * @param maxConcurrent  the maximum number of requests executing at once
+     * @param maxQueueWaitMs the longest a request may wait for a slot before it is rejected
+     * @param meterRegistry  the registry the rejection counter is registered with
+     */
+    public AdmissionControlInterceptor(@Value("${product.admission.max-concurrent:32}") int maxConcurrent,
+                                       @Value("${product.admission.max-queue-wait-ms:100}") long maxQueueWaitMs,
+                                       MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxQueueWaitMs = maxQueueWaitMs;
+        this.rejections = Counter.builder("product.admission.rejections")
+                .description("Requests shed because no execution slot became free in time")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits for an execution slot up to the queue wait target.
+     *
+     * @throws TooManyRequestsException if no slot became free in time
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        if (!permits.tryAcquire(maxQueueWaitMs, TimeUnit.MILLISECONDS)) {
+            rejections.increment();
+            throw new TooManyRequestsException("Server is overloaded", 1);
+        }
+        request.setAttribute(ADMITTED, Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * Releases the execution slot taken in preHandle.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) != null) {
+            request.removeAttribute(ADMITTED);
+            permits.release();
+        }
+    }
+}
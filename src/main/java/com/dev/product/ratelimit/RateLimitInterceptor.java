@@ -0,0 +1,109 @@
+package com.dev.product.ratelimit;
+
+import com.dev.product.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor applying per-client rate limits with a separate budget for each kind of product route.
+ * Clients are identified by their authenticated principal, or by their remote address if the request is anonymous.
+ * Neither can be chosen freely by the client, so a client cannot escape its budget by rotating identifiers,
+ * and the fixed number of limiter slots caps the state kept for distinct clients.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter listLimiter;
+    private final RateLimiter lookupLimiter;
+    private final RateLimiter writeLimiter;
+    private final Counter listRejections;
+    private final Counter lookupRejections;
+    private final Counter writeRejections;
+
+    /**
+     * Constructs a new RateLimitInterceptor.
+     *
+     * @param stripes       the number of client slots per route
+     * @param listRate      the permits per second for GET /products
+     * @param listBurst     the burst size for GET /products
+     * @param lookupRate    the permits per second for the other read routes
+     * @param lookupBurst   the burst size for the other read routes
+     * @param writeRate     the permits per second for write routes
+     * @param writeBurst    the burst size for write routes
+     * @param meterRegistry the registry the rejection counters are registered with
+     */
+    public RateLimitInterceptor(@Value("${product.ratelimit.stripes:4096}") int stripes,
+                                @Value("${product.ratelimit.list.rate:5}") double listRate,
+                                @Value("${product.ratelimit.list.burst:20}") int listBurst,
+                                @Value("${product.ratelimit.lookup.rate:200}") double lookupRate,
+                                @Value("${product.ratelimit.lookup.burst:400}") int lookupBurst,
+                                @Value("${product.ratelimit.write.rate:50}") double writeRate,
+                                @Value("${product.ratelimit.write.burst:100}") int writeBurst,
+                                MeterRegistry meterRegistry) {
+        this.listLimiter = new RateLimiter(listRate, listBurst, stripes);
+        this.lookupLimiter = new RateLimiter(lookupRate, lookupBurst, stripes);
+        this.writeLimiter = new RateLimiter(writeRate, writeBurst, stripes);
+        this.listRejections = rejectionCounter(meterRegistry, "list");
+        this.lookupRejections = rejectionCounter(meterRegistry, "lookup");
+        this.writeRejections = rejectionCounter(meterRegistry, "write");
+    }
+
+    /**
+     * Takes a permit for the client and route of the request.
+     *
+     * @throws TooManyRequestsException if the client has exhausted its budget for the route
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String clientKey = clientKey(request);
+        RateLimiter limiter;
+        Counter rejections;
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            limiter = writeLimiter;
+            rejections = writeRejections;
+        } else if ("/products".equals(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))) {
+            limiter = listLimiter;
+            rejections = listRejections;
+        } else {
+            limiter = lookupLimiter;
+            rejections = lookupRejections;
+        }
+
+        long waitNanos = limiter.tryAcquire(clientKey);
+        if (waitNanos > 0) {
+            rejections.increment();
+            throw new TooManyRequestsException("Rate limit exceeded",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+        }
+        return true;
+    }
+
+    /**
+     * Returns the key identifying the client of a request.
+     * Behind a reverse proxy the remote address is only meaningful with server.forward-headers-strategy configured.
+     */
+    static String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("product.ratelimit.rejections")
+                .description("Requests rejected by the per-client rate limiter")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,68 @@
+package com.dev.product.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free token bucket rate limiter striped over a fixed number of client slots.
+ * Each slot holds a single "theoretical arrival time" (the generic cell rate algorithm, equivalent to a token bucket),
+ * updated with compare-and-set. Clients are hashed onto slots, so the hot path allocates nothing;
+ * clients that collide on a slot share its budget.
+ */
+public class RateLimiter {
+
+    /**
+     * Slots are spaced a cache line apart to avoid false sharing between neighbouring clients.
+     */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray arrivalTimes;
+    private final int mask;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long origin = System.nanoTime();
+
+    /**
+     * Constructs a new RateLimiter.
+     *
+     * @param permitsPerSecond the sustained number of requests allowed per client and second
+     * @param burst            the number of requests a client may make at once after being idle
+     * @param stripes          the number of client slots, rounded up to a power of two
+     */
+    public RateLimiter(double permitsPerSecond, int burst, int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.arrivalTimes = new AtomicLongArray(size * PADDING);
+        this.mask = size - 1;
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * Math.max(0, burst - 1);
+    }
+
+    /**
+     * Tries to take one permit for the given client.
+     *
+     * @param clientKey the key identifying the client, such as an API key or IP address
+     * @return 0 if the request is allowed, or the number of nanoseconds until the next permit is available
+     */
+    public long tryAcquire(String clientKey) {
+        int index = slot(clientKey) * PADDING;
+        long now = System.nanoTime() - origin;
+        while (true) {
+            long arrivalTime = arrivalTimes.get(index);
+            long start = Math.max(arrivalTime, now);
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrivalTimes.compareAndSet(index, arrivalTime, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private int slot(String clientKey) {
+        int h = clientKey.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h & mask;
+    }
+}
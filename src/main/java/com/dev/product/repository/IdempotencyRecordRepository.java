@@ -0,0 +1,75 @@
+package com.dev.product.repository;
+
+import com.dev.product.entity.IdempotencyRecordEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Repository interface for the shared idempotency key records.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecordEntity, String> {
+
+    /**
+     * Claims a key for processing, unless another request already holds it and its lease or response has not expired.
+     *
+     * @param key         the Idempotency-Key, scoped to its operation
+     * @param requestHash the hash of the request
+     * @param expiresAt   the end of the lease, after which the key may be taken over unless the lease is renewed
+     * @return 1 if the key was claimed, 0 if it is held by another request
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, response_body, expires_at) "
+            + "VALUES (:key, :requestHash, NULL, :expiresAt) "
+            + "ON CONFLICT (idempotency_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, "
+            + "response_body = NULL, expires_at = EXCLUDED.expires_at "
+            + "WHERE idempotency_keys.expires_at < now()", nativeQuery = true)
+    int claim(@Param("key") String key, @Param("requestHash") String requestHash, @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Stores the response of a processed request and keeps it until the key expires.
+     *
+     * @param key          the Idempotency-Key, scoped to its operation
+     * @param responseBody the JSON response body
+     * @param expiresAt    the time after which the key may be reused
+     * @return the number of updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecordEntity r SET r.responseBody = :responseBody, r.expiresAt = :expiresAt "
+            + "WHERE r.key = :key")
+    int complete(@Param("key") String key, @Param("responseBody") String responseBody,
+                 @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Extends the lease of claimed keys whose requests are still running.
+     *
+     * @param keys      the Idempotency-Keys, scoped to their operations
+     * @param expiresAt the new end of the lease
+     * @return the number of updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecordEntity r SET r.expiresAt = :expiresAt "
+            + "WHERE r.key IN :keys AND r.responseBody IS NULL")
+    int renew(@Param("keys") Collection<String> keys, @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Deletes all records whose keys have expired.
+     *
+     * @param now the current time
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecordEntity r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,135 @@
+package com.dev.product.repository;
+
+import com.dev.product.entity.ProductEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Repository applying changes to many products with set-based statements.
+ * Each method issues a fixed number of statements regardless of how many products it touches,
+ * and is meant to run inside a transaction spanning the whole batch.
+ */
+@Repository
+public class ProductBatchRepository {
+
+    /**
+     * The number of VALUES rows per UPDATE, which keeps the bind parameters well below the protocol limit of 65535.
+     */
+    static final int ROWS_PER_STATEMENT = 1000;
+
+    private static final String COLUMNS = "prod_id, name, description, price, updated_at";
+
+    private static final String VALUES_ROW = "(CAST(? AS bigint), CAST(? AS varchar), CAST(? AS varchar), CAST(? AS varchar))";
+
+    private static final RowMapper<ProductEntity> ROW_MAPPER = (rs, rowNum) -> {
+        ProductEntity product = new ProductEntity(
+                rs.getLong("prod_id"),
+                rs.getString("name"),
+                rs.getString("price"),
+                rs.getString("description"));
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        product.setUpdatedAt(updatedAt == null ? null : updatedAt.toInstant());
+        return product;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new ProductBatchRepository with the specified JdbcTemplate.
+     *
+     * @param jdbcTemplate the JdbcTemplate to be used
+     */
+    public ProductBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the given products for the rest of the transaction and returns their current state.
+     * Rows are locked in ID order, so concurrent batches touching overlapping products cannot deadlock.
+     *
+     * @param ids the IDs of the products to lock
+     * @return the products that exist, in ID order
+     */
+    public List<ProductEntity> lockAll(Collection<Long> ids) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement("SELECT " + COLUMNS + " FROM products "
+                    + "WHERE prod_id = ANY(?) ORDER BY prod_id FOR UPDATE");
+            statement.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, ROW_MAPPER);
+    }
+
+    /**
+     * Reads the next chunk of products in prod_id order, starting right after the given ID.
+     * The range is found through the primary key index, so every chunk costs the same however far the scan has got.
+     *
+     * @param afterId   the highest prod_id already processed
+     * @param limit     the maximum number of products to read
+     * @param forUpdate whether to lock the products for the rest of the transaction
+     * @return the products of the chunk, in ID order
+     */
+    public List<ProductEntity> findRange(long afterId, int limit, boolean forUpdate) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM products WHERE prod_id > ? ORDER BY prod_id LIMIT ?"
+                + (forUpdate ? " FOR UPDATE" : ""), ROW_MAPPER, afterId, limit);
+    }
+
+    /**
+     * Updates the given products with UPDATE ... FROM (VALUES ...).
+     * Fields that are null in an update keep their current value. updated_at is stamped with the application clock,
+     * like Hibernate stamps single writes, since the catalog refresh and the history order changes by it.
+     *
+     * @param updates the products holding the ID and the new field values
+     * @return the updated products; products that do not exist are missing from the result
+     */
+    public List<ProductEntity> updateAll(List<ProductEntity> updates) {
+        List<ProductEntity> updated = new ArrayList<>(updates.size());
+        Timestamp updatedAt = Timestamp.from(Instant.now());
+        for (int from = 0; from < updates.size(); from += ROWS_PER_STATEMENT) {
+            List<ProductEntity> chunk = updates.subList(from, Math.min(from + ROWS_PER_STATEMENT, updates.size()));
+            String sql = "UPDATE products AS p SET "
+                    + "name = COALESCE(v.name, p.name), "
+                    + "description = COALESCE(v.description, p.description), "
+                    + "price = COALESCE(v.price, p.price), "
+                    + "updated_at = ? "
+                    + "FROM (VALUES " + String.join(", ", Collections.nCopies(chunk.size(), VALUES_ROW)) + ") "
+                    + "AS v(prod_id, name, description, price) "
+                    + "WHERE p.prod_id = v.prod_id "
+                    + "RETURNING p.prod_id, p.name, p.description, p.price, p.updated_at";
+            updated.addAll(jdbcTemplate.query(sql, statement -> {
+                statement.setTimestamp(1, updatedAt);
+                int index = 2;
+                for (ProductEntity update : chunk) {
+                    statement.setLong(index++, update.getId());
+                    statement.setString(index++, update.getName());
+                    statement.setString(index++, update.getDescription());
+                    statement.setString(index++, update.getPrice());
+                }
+            }, ROW_MAPPER));
+        }
+        return updated;
+    }
+
+    /**
+     * Deletes the given products with DELETE ... WHERE prod_id = ANY(?).
+     *
+     * @param ids the IDs of the products to delete
+     * @return the deleted products as they were before the delete
+     */
+    public List<ProductEntity> deleteAll(Collection<Long> ids) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement("DELETE FROM products WHERE prod_id = ANY(?) "
+                    + "RETURNING " + COLUMNS);
+            statement.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, ROW_MAPPER);
+    }
+}
@@ -0,0 +1,140 @@
+package com.dev.product.repository;
+
+import com.dev.product.dto.ProductHistoryEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the append-only product_history table.
+ * The table is range-partitioned by month on changed_at, which JPA cannot express, so it is accessed with plain JDBC.
+ * Each partition carries an index on (prod_id, changed_at DESC) that covers every selected column,
+ * so a time-travel lookup is a single index-only probe in the newest partition that holds a matching row.
+ * A DEFAULT partition takes the rows of months whose partition does not exist yet, so an insert never fails because
+ * partition maintenance is late or the clock is off; those rows move to their month's partition once it is created.
+ */
+@Repository
+public class ProductHistoryRepository {
+
+    private static final String COLUMNS = "prod_id, changed_at, operation, name, description, price";
+
+    private static final String DEFAULT_PARTITION = "product_history_default";
+
+    private static final RowMapper<ProductHistoryEntry> ROW_MAPPER = (rs, rowNum) -> new ProductHistoryEntry(
+            rs.getLong("prod_id"),
+            rs.getTimestamp("changed_at").toInstant(),
+            rs.getString("operation"),
+            rs.getString("name"),
+            rs.getString("description"),
+            rs.getString("price"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new ProductHistoryRepository with the specified JdbcTemplate.
+     *
+     * @param jdbcTemplate the JdbcTemplate to be used
+     */
+    public ProductHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the partitioned history table, its DEFAULT partition and its index if they do not exist yet.
+     */
+    public void createSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS product_history ("
+                + "prod_id bigint NOT NULL, "
+                + "changed_at timestamptz NOT NULL, "
+                + "operation varchar(6) NOT NULL, "
+                + "name varchar(255), "
+                + "description varchar(255), "
+                + "price varchar(255)"
+                + ") PARTITION BY RANGE (changed_at)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION
+                + " PARTITION OF product_history DEFAULT");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_product_history_prod_id_changed_at "
+                + "ON product_history (prod_id, changed_at DESC) INCLUDE (operation, name, description, price)");
+    }
+
+    /**
+     * Creates the partition holding the given month if it does not exist yet.
+     * Rows of that month already written to the DEFAULT partition are moved into the new partition before it is
+     * attached, since PostgreSQL refuses to add a partition whose range overlaps rows in the DEFAULT partition.
+     * Instances serialize on an advisory lock, so only one of them creates a given partition.
+     *
+     * @param month the month to create the partition for
+     */
+    @Transactional
+    public void createPartition(YearMonth month) {
+        String partition = String.format("product_history_%d_%02d", month.getYear(), month.getMonthValue());
+        Instant from = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant to = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext('product_history_partitions'))", rs -> null);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE product_history)");
+        jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " "
+                        + "WHERE changed_at >= ? AND changed_at < ? RETURNING " + COLUMNS + ") "
+                        + "INSERT INTO " + partition + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved",
+                Timestamp.from(from), Timestamp.from(to));
+        jdbcTemplate.execute(String.format(
+                "ALTER TABLE product_history ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')", partition, from, to));
+    }
+
+    /**
+     * Appends the given entries in a single JDBC batch.
+     * The batch is written in one transaction, so a failed batch can be retried without duplicating entries.
+     *
+     * @param entries the entries to append
+     */
+    @Transactional
+    public void insertAll(List<ProductHistoryEntry> entries) {
+        jdbcTemplate.batchUpdate("INSERT INTO product_history (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)",
+                entries, entries.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.productId());
+                    ps.setTimestamp(2, Timestamp.from(entry.changedAt()));
+                    ps.setString(3, entry.operation());
+                    ps.setString(4, entry.name());
+                    ps.setString(5, entry.description());
+                    ps.setString(6, entry.price());
+                });
+    }
+
+    /**
+     * Retrieves the most recent versions of a product, newest first.
+     *
+     * @param productId the ID of the product
+     * @param limit     the maximum number of versions to return
+     * @return the list of versions
+     */
+    public List<ProductHistoryEntry> findByProductId(long productId, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM product_history WHERE prod_id = ? "
+                + "ORDER BY changed_at DESC LIMIT ?", ROW_MAPPER, productId, limit);
+    }
+
+    /**
+     * Retrieves the version of a product that was current at the given time.
+     *
+     * @param productId the ID of the product
+     * @param asOf      the point in time
+     * @return an Optional containing the version current at that time, or an empty Optional if none was recorded
+     */
+    public Optional<ProductHistoryEntry> findAsOf(long productId, Instant asOf) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM product_history WHERE prod_id = ? AND changed_at <= ? "
+                        + "ORDER BY changed_at DESC LIMIT 1", ROW_MAPPER, productId, Timestamp.from(asOf))
+                .stream()
+                .findFirst();
+    }
+}
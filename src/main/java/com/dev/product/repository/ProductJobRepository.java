@@ -0,0 +1,151 @@
+package com.dev.product.repository;
+
+import com.dev.product.entity.ProductJobEntity;
+import com.dev.product.job.ProductJobStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for the persisted job state.
+ * State transitions are conditional updates, so instances competing for the same job never both win.
+ */
+@Repository
+public interface ProductJobRepository extends JpaRepository<ProductJobEntity, Long> {
+
+    /**
+     * Finds queued and running jobs that no instance currently holds.
+     *
+     * @param queued  the QUEUED status
+     * @param running the RUNNING status
+     * @param now     the current time
+     * @param limit   the maximum number of jobs to return
+     * @return the IDs of the claimable jobs, oldest first
+     */
+    @Query("SELECT j.id FROM ProductJobEntity j WHERE j.status IN (:queued, :running) "
+            + "AND (j.leaseUntil IS NULL OR j.leaseUntil < :now) ORDER BY j.id")
+    List<Long> findClaimable(@Param("queued") ProductJobStatus queued, @Param("running") ProductJobStatus running,
+                             @Param("now") Instant now, Limit limit);
+
+    /**
+     * Claims a job for an instance, unless another instance holds it.
+     *
+     * @param id         the ID of the job
+     * @param owner      the claiming instance
+     * @param queued     the QUEUED status
+     * @param running    the RUNNING status
+     * @param leaseUntil the time until which the claim holds
+     * @param now        the current time
+     * @return 1 if the job was claimed, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductJobEntity j SET j.status = :running, j.owner = :owner, j.leaseUntil = :leaseUntil, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status IN (:queued, :running) AND (j.leaseUntil IS NULL OR j.leaseUntil < :now)")
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("queued") ProductJobStatus queued,
+              @Param("running") ProductJobStatus running, @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+
+    /**
+     * Records a processed chunk and extends the lease, if the instance still holds the job.
+     * All progress values are absolute, so a job that started over on another instance resets them.
+     *
+     * @param id         the ID of the job
+     * @param owner      the instance that processed the chunk
+     * @param checkpoint the highest prod_id processed
+     * @param processed  the number of products processed so far
+     * @param outputSize the number of bytes of output written so far
+     * @param output     the file the output is written to, or null
+     * @param leaseUntil the new end of the lease
+     * @param now        the current time
+     * @return 1 if the checkpoint was recorded, 0 if the instance lost the job
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductJobEntity j SET j.checkpoint = :checkpoint, j.processed = :processed, "
+            + "j.outputSize = :outputSize, j.output = :output, j.leaseUntil = :leaseUntil, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.owner = :owner")
+    int checkpoint(@Param("id") Long id, @Param("owner") String owner, @Param("checkpoint") long checkpoint,
+                   @Param("processed") long processed, @Param("outputSize") long outputSize,
+                   @Param("output") String output, @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+
+    /**
+     * Records the number of products a job covers, unless it has already been counted.
+     *
+     * @param id    the ID of the job
+     * @param owner the instance running the job
+     * @param total the number of products when the job started
+     * @param now   the current time
+     * @return 1 if the total was recorded, 0 if it was already set or the instance lost the job
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductJobEntity j SET j.total = :total, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.owner = :owner AND j.total IS NULL")
+    int size(@Param("id") Long id, @Param("owner") String owner, @Param("total") long total, @Param("now") Instant now);
+
+    /**
+     * Moves a job into a final state, if the instance still holds it.
+     *
+     * @param id     the ID of the job
+     * @param owner  the instance finishing the job
+     * @param status the final status
+     * @param error  the error that stopped the job, or null
+     * @param now    the current time
+     * @return 1 if the job was finished, 0 if the instance lost the job
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductJobEntity j SET j.status = :status, j.error = :error, j.leaseUntil = NULL, "
+            + "j.finishedAt = :now, j.updatedAt = :now WHERE j.id = :id AND j.owner = :owner")
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("status") ProductJobStatus status,
+               @Param("error") String error, @Param("now") Instant now);
+
+    /**
+     * Cancels a job that no instance has claimed yet.
+     *
+     * @param id        the ID of the job
+     * @param queued    the QUEUED status
+     * @param cancelled the CANCELLED status
+     * @param now       the current time
+     * @return 1 if the job was cancelled, 0 if it has been claimed or has finished
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductJobEntity j SET j.status = :cancelled, j.finishedAt = :now, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status = :queued")
+    int cancelQueued(@Param("id") Long id, @Param("queued") ProductJobStatus queued,
+                     @Param("cancelled") ProductJobStatus cancelled, @Param("now") Instant now);
+
+    /**
+     * Asks the instance running a job to stop it after the current chunk.
+     *
+     * @param id      the ID of the job
+     * @param running the RUNNING status
+     * @param now     the current time
+     * @return 1 if cancellation was requested, 0 if the job is not running
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductJobEntity j SET j.cancelRequested = true, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status = :running")
+    int requestCancel(@Param("id") Long id, @Param("running") ProductJobStatus running, @Param("now") Instant now);
+
+    /**
+     * Gives up the jobs held by an instance, so any instance can resume them right away.
+     *
+     * @param owner   the instance shutting down
+     * @param running the RUNNING status
+     * @return the number of released jobs
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductJobEntity j SET j.leaseUntil = NULL WHERE j.owner = :owner AND j.status = :running")
+    int release(@Param("owner") String owner, @Param("running") ProductJobStatus running);
+}
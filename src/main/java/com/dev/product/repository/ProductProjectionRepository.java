@@ -0,0 +1,20 @@
+package com.dev.product.repository;
+
+import com.dev.product.dto.ProductFields;
+
+import java.util.List;
+
+/**
+ * Repository fragment for reading selected product columns without loading managed entities.
+ */
+public interface ProductProjectionRepository {
+
+    /**
+     * Retrieves the given fields of all products, ordered by ID.
+     * Only the requested columns are selected and the rows are never attached to the persistence context.
+     *
+     * @param fields the entity field names to select
+     * @return one projection per product, with the fields that were not selected left null
+     */
+    List<ProductFields> findAllFields(List<String> fields);
+}
@@ -0,0 +1,43 @@
+package com.dev.product.repository;
+
+import com.dev.product.dto.ProductFields;
+import com.dev.product.entity.ProductEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+
+/**
+ * Implementation of the ProductProjectionRepository fragment using a criteria constructor query.
+ * Fields that were not requested are selected as null literals, so their columns are never read.
+ */
+public class ProductProjectionRepositoryImpl implements ProductProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductFields> findAllFields(List<String> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductFields> query = builder.createQuery(ProductFields.class);
+        Root<ProductEntity> product = query.from(ProductEntity.class);
+
+        query.select(builder.construct(ProductFields.class,
+                        select(builder, product, fields, "id", Long.class),
+                        select(builder, product, fields, "name", String.class),
+                        select(builder, product, fields, "description", String.class),
+                        select(builder, product, fields, "price", String.class)))
+                .orderBy(builder.asc(product.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static <T> Selection<T> select(CriteriaBuilder builder, Root<ProductEntity> product,
+                                           List<String> fields, String field, Class<T> type) {
+        return fields.contains(field) ? product.get(field) : builder.nullLiteral(type);
+    }
+}
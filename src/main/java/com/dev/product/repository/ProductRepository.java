@@ -4,10 +4,22 @@ import com.dev.product.entity.ProductEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 /**
  * Repository interface for performing database operations on ProductEntity.
- * Extends the JpaRepository interface, which provides basic CRUD functionality.
+ * Extends the JpaRepository interface, which provides basic CRUD functionality,
+ * and the ProductProjectionRepository fragment for column projections.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
+public interface ProductRepository extends JpaRepository<ProductEntity, Long>, ProductProjectionRepository {
+
+    /**
+     * Retrieves all products inserted or updated after the given timestamp.
+     *
+     * @param timestamp the exclusive lower bound for updated_at
+     * @return the list of changed products
+     */
+    List<ProductEntity> findByUpdatedAtAfter(Instant timestamp);
 }
\ No newline at end of file
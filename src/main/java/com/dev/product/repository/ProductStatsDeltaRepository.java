@@ -0,0 +1,103 @@
+package com.dev.product.repository;
+
+import com.dev.product.entity.ProductStatsEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the product_stats_deltas journal.
+ * Statement-level triggers on products append one row per insert, update or delete statement with its effect on the statistics,
+ * in the same transaction as the change itself. Writers only append, so they never contend on the summary row,
+ * and the journal holds exactly the changes that are committed but not yet folded into the summary.
+ */
+@Repository
+public class ProductStatsDeltaRepository {
+
+    private static final String COLUMNS = "count_delta, priced_delta, sum_delta, min_candidate, max_candidate, extremes_stale";
+
+    /**
+     * SQL expression that is true if a removed price was one of the extremes of the summary row s.
+     */
+    private static final String REMOVED_EXTREME = "o.p IS NOT NULL AND (s.min_price IS NULL OR o.p <= s.min_price OR o.p >= s.max_price)";
+
+    private static final String SUMMARY = "LEFT JOIN product_stats s ON s.id = " + ProductStatsEntity.SUMMARY_ID;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new ProductStatsDeltaRepository with the specified JdbcTemplate.
+     *
+     * @param jdbcTemplate the JdbcTemplate to be used
+     */
+    public ProductStatsDeltaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the journal table if it does not exist yet and recreates the triggers filling it.
+     * The triggers are dropped and created again rather than replaced, since CREATE OR REPLACE TRIGGER needs PostgreSQL 14.
+     */
+    public void createSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS product_stats_deltas ("
+                + "count_delta bigint NOT NULL, "
+                + "priced_delta bigint NOT NULL, "
+                + "sum_delta numeric NOT NULL, "
+                + "min_candidate numeric, "
+                + "max_candidate numeric, "
+                + "extremes_stale boolean NOT NULL"
+                + ")");
+        createTrigger("insert", "INSERT", "NEW TABLE AS new_rows",
+                "SELECT COUNT(*), COUNT(n.p), COALESCE(SUM(n.p), 0), MIN(n.p), MAX(n.p), false "
+                        + "FROM (SELECT " + ProductStatsRepository.NUMERIC_PRICE + " AS p FROM new_rows) n "
+                        + "HAVING COUNT(*) > 0");
+        createTrigger("update", "UPDATE", "OLD TABLE AS old_rows NEW TABLE AS new_rows",
+                "SELECT 0, COUNT(n.p) - COUNT(o.p), COALESCE(SUM(n.p), 0) - COALESCE(SUM(o.p), 0), MIN(n.p), MAX(n.p), "
+                        + "COALESCE(BOOL_OR(" + REMOVED_EXTREME + "), false) "
+                        + "FROM (SELECT prod_id, " + ProductStatsRepository.NUMERIC_PRICE + " AS p FROM old_rows) o "
+                        + "JOIN (SELECT prod_id, " + ProductStatsRepository.NUMERIC_PRICE + " AS p FROM new_rows) n USING (prod_id) "
+                        + SUMMARY + " WHERE o.p IS DISTINCT FROM n.p "
+                        + "HAVING COUNT(*) > 0");
+        createTrigger("delete", "DELETE", "OLD TABLE AS old_rows",
+                "SELECT -COUNT(*), -COUNT(o.p), -COALESCE(SUM(o.p), 0), NULL, NULL, "
+                        + "COALESCE(BOOL_OR(" + REMOVED_EXTREME + "), false) "
+                        + "FROM (SELECT " + ProductStatsRepository.NUMERIC_PRICE + " AS p FROM old_rows) o "
+                        + SUMMARY + " HAVING COUNT(*) > 0");
+    }
+
+    /**
+     * Folds every journaled delta into the summary row and removes it from the journal, in one statement.
+     * If a removed price was an extreme, the extremes are recomputed from the products table within the same snapshot.
+     * Concurrent calls consume disjoint sets of deltas, so no delta is ever applied twice.
+     *
+     * @param id the ID of the summary row
+     * @return the number of updated rows, 0 if the journal was empty
+     */
+    public int applyDeltas(long id) {
+        return jdbcTemplate.update("WITH consumed AS (DELETE FROM product_stats_deltas RETURNING " + COLUMNS + "), "
+                + "d AS (SELECT COUNT(*) AS deltas, COALESCE(SUM(count_delta), 0) AS count_delta, "
+                + "COALESCE(SUM(priced_delta), 0) AS priced_delta, COALESCE(SUM(sum_delta), 0) AS sum_delta, "
+                + "MIN(min_candidate) AS min_candidate, MAX(max_candidate) AS max_candidate, "
+                + "COALESCE(BOOL_OR(extremes_stale), false) AS extremes_stale FROM consumed) "
+                + "UPDATE product_stats SET product_count = product_count + d.count_delta, "
+                + "priced_count = priced_count + d.priced_delta, price_sum = price_sum + d.sum_delta, "
+                + "min_price = CASE WHEN d.extremes_stale "
+                + "THEN (SELECT MIN(" + ProductStatsRepository.NUMERIC_PRICE + ") FROM products) "
+                + "ELSE LEAST(min_price, d.min_candidate) END, "
+                + "max_price = CASE WHEN d.extremes_stale "
+                + "THEN (SELECT MAX(" + ProductStatsRepository.NUMERIC_PRICE + ") FROM products) "
+                + "ELSE GREATEST(max_price, d.max_candidate) END "
+                + "FROM d WHERE id = ? AND d.deltas > 0", id);
+    }
+
+    private void createTrigger(String name, String event, String transitionTables, String delta) {
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION record_product_stats_" + name + "() RETURNS trigger AS $$ "
+                + "BEGIN "
+                + "INSERT INTO product_stats_deltas (" + COLUMNS + ") " + delta + "; "
+                + "RETURN NULL; "
+                + "END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS product_stats_" + name + " ON products; "
+                + "CREATE TRIGGER product_stats_" + name + " AFTER " + event + " ON products "
+                + "REFERENCING " + transitionTables + " FOR EACH STATEMENT "
+                + "EXECUTE FUNCTION record_product_stats_" + name + "()");
+    }
+}
@@ -0,0 +1,40 @@
+package com.dev.product.repository;
+
+import com.dev.product.entity.ProductStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository interface for the catalog statistics summary row.
+ */
+@Repository
+public interface ProductStatsRepository extends JpaRepository<ProductStatsEntity, Long> {
+
+    /**
+     * SQL expression for the numeric value of a price, or NULL if the price is not a plain decimal number.
+     */
+    String NUMERIC_PRICE = "CASE WHEN price ~ '^[0-9]+([.][0-9]+){0,1}$' THEN CAST(price AS numeric) END";
+
+    /**
+     * Recomputes every aggregate from the products table, creating the summary row if it does not exist yet.
+     * The journaled deltas visible to the same snapshot are discarded in the same statement, since the recomputed
+     * aggregates already contain their changes; deltas committed later are folded in by the next flush.
+     *
+     * @param id the ID of the summary row
+     * @return the number of inserted or updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "WITH consumed AS (DELETE FROM product_stats_deltas) "
+            + "INSERT INTO product_stats (id, product_count, priced_count, price_sum, min_price, max_price, reconciled_at) "
+            + "SELECT :id, COUNT(*), COUNT(" + NUMERIC_PRICE + "), COALESCE(SUM(" + NUMERIC_PRICE + "), 0), "
+            + "MIN(" + NUMERIC_PRICE + "), MAX(" + NUMERIC_PRICE + "), now() FROM products "
+            + "ON CONFLICT (id) DO UPDATE SET product_count = EXCLUDED.product_count, priced_count = EXCLUDED.priced_count, "
+            + "price_sum = EXCLUDED.price_sum, min_price = EXCLUDED.min_price, max_price = EXCLUDED.max_price, "
+            + "reconciled_at = EXCLUDED.reconciled_at", nativeQuery = true)
+    int reconcile(@Param("id") long id);
+}
@@ -0,0 +1,87 @@
+package com.dev.product.repository;
+
+import com.dev.product.dto.ProductTombstone;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for the product_tombstones table.
+ * A row is written by an AFTER DELETE trigger on products, so every delete path is covered,
+ * including the batch endpoints and statements that bypass the application.
+ * Nodes holding copies of the product table read it to drop deleted rows without a full reload.
+ */
+@Repository
+public class ProductTombstoneRepository {
+
+    private static final RowMapper<ProductTombstone> ROW_MAPPER = (rs, rowNum) -> new ProductTombstone(
+            rs.getLong("prod_id"),
+            rs.getTimestamp("deleted_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new ProductTombstoneRepository with the specified JdbcTemplate.
+     *
+     * @param jdbcTemplate the JdbcTemplate to be used
+     */
+    public ProductTombstoneRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the tombstone table if it does not exist yet and recreates the trigger filling it.
+     * The trigger is dropped and created again rather than replaced, since CREATE OR REPLACE TRIGGER needs PostgreSQL 14.
+     */
+    public void createSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS product_tombstones ("
+                + "prod_id bigint PRIMARY KEY, "
+                + "deleted_at timestamptz NOT NULL DEFAULT clock_timestamp()"
+                + ")");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_product_tombstones_deleted_at "
+                + "ON product_tombstones (deleted_at)");
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION record_product_tombstone() RETURNS trigger AS $$ "
+                + "BEGIN "
+                + "INSERT INTO product_tombstones (prod_id) VALUES (OLD.prod_id) "
+                + "ON CONFLICT (prod_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at; "
+                + "RETURN OLD; "
+                + "END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS products_tombstone ON products; "
+                + "CREATE TRIGGER products_tombstone AFTER DELETE ON products "
+                + "FOR EACH ROW EXECUTE FUNCTION record_product_tombstone()");
+    }
+
+    /**
+     * Returns the current time of the database clock, which tombstones are stamped with.
+     *
+     * @return the database time
+     */
+    public Instant now() {
+        return jdbcTemplate.queryForObject("SELECT clock_timestamp()", Timestamp.class).toInstant();
+    }
+
+    /**
+     * Retrieves the tombstones written after the given time.
+     *
+     * @param since the exclusive lower bound
+     * @return the tombstones, oldest first
+     */
+    public List<ProductTombstone> findDeletedAfter(Instant since) {
+        return jdbcTemplate.query("SELECT prod_id, deleted_at FROM product_tombstones WHERE deleted_at > ? "
+                + "ORDER BY deleted_at", ROW_MAPPER, Timestamp.from(since));
+    }
+
+    /**
+     * Removes tombstones written before the given time.
+     *
+     * @param before the exclusive upper bound
+     * @return the number of tombstones removed
+     */
+    public int purgeBefore(Instant before) {
+        return jdbcTemplate.update("DELETE FROM product_tombstones WHERE deleted_at < ?", Timestamp.from(before));
+    }
+}
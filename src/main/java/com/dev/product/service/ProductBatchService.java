@@ -0,0 +1,46 @@
+package com.dev.product.service;
+
+import com.dev.product.dto.ProductBatchResult;
+import com.dev.product.entity.ProductEntity;
+
+import java.util.List;
+
+/**
+ * Service interface for changing many products in one request.
+ */
+public interface ProductBatchService {
+
+    /**
+     * Updates the given products in a single transaction.
+     *
+     * @param products the products holding the ID and the field values to change
+     * @return one result per item, in request order
+     */
+    List<ProductBatchResult> updateProducts(List<ProductEntity> products);
+
+    /**
+     * Updates the given products at most once per idempotency key.
+     *
+     * @param products       the products holding the ID and the field values to change
+     * @param idempotencyKey the Idempotency-Key sent by the client
+     * @return the results of the first request made with this key
+     */
+    List<ProductBatchResult> updateProducts(List<ProductEntity> products, String idempotencyKey);
+
+    /**
+     * Deletes the given products in a single transaction.
+     *
+     * @param ids the IDs of the products to delete
+     * @return one result per item, in request order
+     */
+    List<ProductBatchResult> deleteProducts(List<Long> ids);
+
+    /**
+     * Deletes the given products at most once per idempotency key.
+     *
+     * @param ids            the IDs of the products to delete
+     * @param idempotencyKey the Idempotency-Key sent by the client
+     * @return the results of the first request made with this key
+     */
+    List<ProductBatchResult> deleteProducts(List<Long> ids, String idempotencyKey);
+}
@@ -0,0 +1,32 @@
+package com.dev.product.service;
+
+import com.dev.product.dto.ProductHistoryEntry;
+import com.dev.product.entity.ProductEntity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for reading the recorded history of products.
+ */
+public interface ProductHistoryService {
+
+    /**
+     * Retrieves the most recent versions of a product, newest first.
+     *
+     * @param id    the ID of the product
+     * @param limit the maximum number of versions to return
+     * @return the list of versions
+     */
+    List<ProductHistoryEntry> getHistory(Long id, int limit);
+
+    /**
+     * Retrieves a product as it was at the given time.
+     *
+     * @param id   the ID of the product
+     * @param asOf the point in time
+     * @return an Optional containing the product as of that time, or an empty Optional if it did not exist then
+     */
+    Optional<ProductEntity> findByIdAsOf(Long id, Instant asOf);
+}
@@ -0,0 +1,45 @@
+package com.dev.product.service;
+
+import com.dev.product.dto.ProductJobRequest;
+import com.dev.product.dto.ProductJobResponse;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Service interface for submitting and tracking long-running catalog jobs.
+ */
+public interface ProductJobService {
+
+    /**
+     * Persists a new job and schedules it for processing.
+     *
+     * @param request the job to run
+     * @return the state of the queued job
+     */
+    ProductJobResponse submitJob(ProductJobRequest request);
+
+    /**
+     * Retrieves the state and progress of a job.
+     *
+     * @param id the ID of the job
+     * @return an Optional containing the job state, or an empty Optional if there is no such job
+     */
+    Optional<ProductJobResponse> findJobById(Long id);
+
+    /**
+     * Retrieves the output file of a finished job.
+     *
+     * @param id the ID of the job
+     * @return the path of the output file on this instance
+     */
+    Path findJobOutput(Long id);
+
+    /**
+     * Cancels a job. A queued job is cancelled right away, a running job after its current chunk.
+     *
+     * @param id the ID of the job
+     * @return the state of the job after the cancellation request
+     */
+    ProductJobResponse cancelJob(Long id);
+}
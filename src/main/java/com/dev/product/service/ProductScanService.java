@@ -0,0 +1,33 @@
+package com.dev.product.service;
+
+import com.dev.product.entity.ProductEntity;
+
+import java.util.stream.Collector;
+
+/**
+ * Service interface for processing the whole products table in parallel.
+ * Every product present for the whole scan is delivered exactly once, but the scan is not a consistent snapshot.
+ */
+public interface ProductScanService {
+
+    /**
+     * Streams every product through the collector, using the configured parallelism.
+     *
+     * @param collector the collector to apply; its accumulator is only ever called by one thread per container
+     * @param <A>       the mutable accumulation type of the collector
+     * @param <R>       the result type of the collector
+     * @return the collected result; containers are combined in prod_id order
+     */
+    <A, R> R scan(Collector<? super ProductEntity, A, R> collector);
+
+    /**
+     * Streams every product through the collector with the given number of parallel ranges.
+     *
+     * @param collector   the collector to apply; its accumulator is only ever called by one thread per container
+     * @param parallelism the number of ranges processed at once, capped to the bulk connection pool size
+     * @param <A>         the mutable accumulation type of the collector
+     * @param <R>         the result type of the collector
+     * @return the collected result; containers are combined in prod_id order
+     */
+    <A, R> R scan(Collector<? super ProductEntity, A, R> collector, int parallelism);
+}
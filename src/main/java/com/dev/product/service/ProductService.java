@@ -1,5 +1,6 @@
 package com.dev.product.service;
 
+import com.dev.product.dto.ProductFields;
 import com.dev.product.entity.ProductEntity;
 
 import java.util.List;
@@ -17,6 +18,15 @@ public interface ProductService {
      */
     List<ProductEntity> findAllProducts();
 
+    /**
+     * Retrieves the selected fields of all products without loading full entities, ordered by ID.
+     *
+     * @param fields the names of the fields to include
+     * @return a list with one projection per product, with the fields that were not selected left null
+     * @throws com.dev.product.exception.InvalidRequestException if no field or an unknown field is requested
+     */
+    List<ProductFields> findAllProductFields(List<String> fields);
+
     /**
      * Retrieves a product by its ID.
      *
@@ -33,6 +43,16 @@ public interface ProductService {
      */
     ProductEntity saveProduct(ProductEntity productEntity);
 
+    /**
+     * Saves a new product at most once per idempotency key.
+     * A retry with the same key returns the product saved by the first request instead of creating another one.
+     *
+     * @param productEntity  the ProductEntity object to save
+     * @param idempotencyKey the Idempotency-Key sent by the client
+     * @return the ProductEntity object saved by the first request with this key
+     */
+    ProductEntity saveProduct(ProductEntity productEntity, String idempotencyKey);
+
     /**
      * Updates an existing product.
      *
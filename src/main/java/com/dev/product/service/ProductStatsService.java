@@ -0,0 +1,21 @@
+package com.dev.product.service;
+
+import com.dev.product.dto.ProductStatsResponse;
+
+/**
+ * Service interface for the aggregated catalog statistics.
+ */
+public interface ProductStatsService {
+
+    /**
+     * Retrieves the current catalog statistics in constant time.
+     *
+     * @return the catalog statistics
+     */
+    ProductStatsResponse getStats();
+
+    /**
+     * Recomputes all statistics from the products table, correcting any drift of the incremental aggregates.
+     */
+    void reconcile();
+}
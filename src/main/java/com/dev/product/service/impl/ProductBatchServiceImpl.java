@@ -0,0 +1,232 @@
+package com.dev.product.service.impl;
+
+import com.dev.product.dto.ProductBatchResult;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import com.dev.product.exception.InvalidRequestException;
+import com.dev.product.idempotency.IdempotencyService;
+import com.dev.product.repository.ProductBatchRepository;
+import com.dev.product.service.ProductBatchService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ProductBatchService interface.
+ * A batch is validated item by item, with the same bean constraints single writes are held to, then applied with a constant number of set-based statements in one transaction.
+ * Change events are published only after the transaction has committed, as they are for single writes.
+ */
+@Service
+public class ProductBatchServiceImpl implements ProductBatchService {
+
+    private final ProductBatchRepository productBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final Validator validator;
+    private final int maxItems;
+
+    /**
+     * Constructs a new ProductBatchServiceImpl.
+     *
+     * @param productBatchRepository the repository applying the set-based statements
+     * @param transactionTemplate    the template running each batch in one transaction
+     * @param eventPublisher         the publisher notified of every product change
+     * @param idempotencyService     the service deduplicating batches made with an idempotency key
+     * @param validator              the validator checking the fields set by each item
+     * @param maxItems               the maximum number of items per batch
+     */
+    public ProductBatchServiceImpl(ProductBatchRepository productBatchRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   IdempotencyService idempotencyService,
+                                   Validator validator,
+                                   @Value("${product.batch.max-items:10000}") int maxItems) {
+        this.productBatchRepository = productBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.idempotencyService = idempotencyService;
+        this.validator = validator;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Updates the given products in a single transaction.
+     * Fields that are null in an item keep their current value; the fields it sets must satisfy the product's constraints.
+     *
+     * @param products the products holding the ID and the field values to change
+     * @return one result per item, in request order
+     * @throws InvalidRequestException if the batch is empty or larger than the configured maximum
+     */
+    @Override
+    public List<ProductBatchResult> updateProducts(List<ProductEntity> products) {
+        checkSize(products);
+
+        ProductBatchResult[] results = new ProductBatchResult[products.size()];
+        Map<Long, ProductEntity> updates = new LinkedHashMap<>();
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < products.size(); i++) {
+            ProductEntity product = products.get(i);
+            Long id = product == null ? null : product.getId();
+            if (id == null) {
+                results[i] = ProductBatchResult.invalid(null, "Product ID is required");
+            } else if (positions.putIfAbsent(id, i) != null) {
+                results[i] = ProductBatchResult.invalid(id, "Duplicate product ID");
+            } else {
+                String error = validate(product);
+                if (error != null) {
+                    results[i] = ProductBatchResult.invalid(id, error);
+                } else {
+                    updates.put(id, product);
+                }
+            }
+        }
+
+        List<ProductChangedEvent> events = new ArrayList<>();
+        if (!updates.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, ProductEntity> before = byId(productBatchRepository.lockAll(updates.keySet()));
+                for (ProductEntity updated : productBatchRepository.updateAll(new ArrayList<>(updates.values()))) {
+                    events.add(new ProductChangedEvent(updated.getId(), before.get(updated.getId()), updated.copy()));
+                    results[positions.get(updated.getId())] = ProductBatchResult.updated(updated);
+                }
+            });
+        }
+
+        events.forEach(eventPublisher::publishEvent);
+        return complete(results, products.size(), i -> products.get(i).getId());
+    }
+
+    /**
+     * Updates the given products at most once per idempotency key.
+     *
+     * @param products       the products holding the ID and the field values to change
+     * @param idempotencyKey the Idempotency-Key sent by the client
+     * @return the results of the first request made with this key
+     */
+    @Override
+    public List<ProductBatchResult> updateProducts(List<ProductEntity> products, String idempotencyKey) {
+        return List.of(idempotencyService.execute("PATCH /products/batch", idempotencyKey, products, ProductBatchResult[].class,
+                () -> updateProducts(products).toArray(ProductBatchResult[]::new)));
+    }
+
+    /**
+     * Deletes the given products in a single transaction.
+     *
+     * @param ids the IDs of the products to delete
+     * @return one result per item, in request order
+     * @throws InvalidRequestException if the batch is empty or larger than the configured maximum
+     */
+    @Override
+    public List<ProductBatchResult> deleteProducts(List<Long> ids) {
+        checkSize(ids);
+
+        ProductBatchResult[] results = new ProductBatchResult[ids.size()];
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results[i] = ProductBatchResult.invalid(null, "Product ID is required");
+            } else if (positions.putIfAbsent(id, i) != null) {
+                results[i] = ProductBatchResult.invalid(id, "Duplicate product ID");
+            }
+        }
+
+        List<ProductChangedEvent> events = new ArrayList<>();
+        if (!positions.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Lock in ID order first; DELETE alone would lock rows in whatever order the plan visits them.
+                productBatchRepository.lockAll(positions.keySet());
+                for (ProductEntity deleted : productBatchRepository.deleteAll(positions.keySet())) {
+                    events.add(new ProductChangedEvent(deleted.getId(), deleted, null));
+                    results[positions.get(deleted.getId())] = ProductBatchResult.deleted(deleted.getId());
+                }
+            });
+        }
+
+        events.forEach(eventPublisher::publishEvent);
+        return complete(results, ids.size(), ids::get);
+    }
+
+    /**
+     * Deletes the given products at most once per idempotency key.
+     *
+     * @param ids            the IDs of the products to delete
+     * @param idempotencyKey the Idempotency-Key sent by the client
+     * @return the results of the first request made with this key
+     */
+    @Override
+    public List<ProductBatchResult> deleteProducts(List<Long> ids, String idempotencyKey) {
+        return List.of(idempotencyService.execute("DELETE /products/batch", idempotencyKey, ids, ProductBatchResult[].class,
+                () -> deleteProducts(ids).toArray(ProductBatchResult[]::new)));
+    }
+
+    /**
+     * Checks the fields an item sets against the constraints of ProductEntity.
+     * The set-based update bypasses Hibernate's validation on flush, and unset fields keep their already valid values.
+     *
+     * @return the constraint messages joined in field order, or null if the item is valid
+     */
+    private String validate(ProductEntity product) {
+        List<ConstraintViolation<ProductEntity>> violations = new ArrayList<>();
+        if (product.getName() != null) {
+            violations.addAll(validator.validateProperty(product, "name"));
+        }
+        if (product.getDescription() != null) {
+            violations.addAll(validator.validateProperty(product, "description"));
+        }
+        if (product.getPrice() != null) {
+            violations.addAll(validator.validateProperty(product, "price"));
+        }
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing((ConstraintViolation<ProductEntity> violation) ->
+                        violation.getPropertyPath().toString()).thenComparing(ConstraintViolation::getMessage))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidRequestException("At least one item is required");
+        }
+        if (items.size() > maxItems) {
+            throw new InvalidRequestException("At most " + maxItems + " items are allowed per batch");
+        }
+    }
+
+    private static Map<Long, ProductEntity> byId(List<ProductEntity> products) {
+        Map<Long, ProductEntity> byId = new HashMap<>();
+        for (ProductEntity product : products) {
+            byId.put(product.getId(), product);
+        }
+        return byId;
+    }
+
+    /**
+     * Reports every item that was neither rejected nor changed as not found.
+     */
+    private static List<ProductBatchResult> complete(ProductBatchResult[] results, int size,
+                                                     IntFunction<Long> idAt) {
+        for (int i = 0; i < size; i++) {
+            if (results[i] == null) {
+                results[i] = ProductBatchResult.notFound(idAt.apply(i));
+            }
+        }
+        return List.of(results);
+    }
+}
@@ -0,0 +1,62 @@
+package com.dev.product.service.impl;
+
+import com.dev.product.dto.ProductHistoryEntry;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.exception.InvalidRequestException;
+import com.dev.product.repository.ProductHistoryRepository;
+import com.dev.product.service.ProductHistoryService;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the ProductHistoryService interface.
+ */
+@Service
+public class ProductHistoryServiceImpl implements ProductHistoryService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ProductHistoryRepository productHistoryRepository;
+
+    /**
+     * Constructs a new ProductHistoryServiceImpl with the specified ProductHistoryRepository.
+     *
+     * @param productHistoryRepository the ProductHistoryRepository to be used
+     */
+    public ProductHistoryServiceImpl(ProductHistoryRepository productHistoryRepository) {
+        this.productHistoryRepository = productHistoryRepository;
+    }
+
+    /**
+     * Retrieves the most recent versions of a product, newest first.
+     *
+     * @param id    the ID of the product
+     * @param limit the maximum number of versions to return
+     * @return the list of versions
+     * @throws InvalidRequestException if the limit is not between 1 and 1000
+     */
+    @Override
+    public List<ProductHistoryEntry> getHistory(Long id, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return productHistoryRepository.findByProductId(id, limit);
+    }
+
+    /**
+     * Retrieves a product as it was at the given time.
+     *
+     * @param id   the ID of the product
+     * @param asOf the point in time
+     * @return an Optional containing the product as of that time, or an empty Optional if it did not exist then
+     */
+    @Override
+    public Optional<ProductEntity> findByIdAsOf(Long id, Instant asOf) {
+        return productHistoryRepository.findAsOf(id, asOf)
+                .filter(entry -> !"DELETE".equals(entry.operation()))
+                .map(entry -> new ProductEntity(entry.productId(), entry.name(), entry.price(), entry.description()));
+    }
+}
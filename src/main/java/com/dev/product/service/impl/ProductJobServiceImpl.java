@@ -0,0 +1,134 @@
+package com.dev.product.service.impl;
+
+import com.dev.product.dto.ProductJobRequest;
+import com.dev.product.dto.ProductJobResponse;
+import com.dev.product.entity.ProductJobEntity;
+import com.dev.product.exception.ConflictException;
+import com.dev.product.exception.InvalidRequestException;
+import com.dev.product.exception.ResourceNotFoundException;
+import com.dev.product.job.ProductJobHandler;
+import com.dev.product.job.ProductJobRunner;
+import com.dev.product.job.ProductJobStatus;
+import com.dev.product.repository.ProductJobRepository;
+import com.dev.product.service.ProductJobService;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Implementation of the ProductJobService interface.
+ */
+@Service
+public class ProductJobServiceImpl implements ProductJobService {
+
+    private final ProductJobRepository productJobRepository;
+    private final ProductJobRunner productJobRunner;
+
+    /**
+     * Constructs a new ProductJobServiceImpl.
+     *
+     * @param productJobRepository the repository holding the job state
+     * @param productJobRunner     the runner processing the jobs
+     */
+    public ProductJobServiceImpl(ProductJobRepository productJobRepository,
+                                 ProductJobRunner productJobRunner) {
+        this.productJobRepository = productJobRepository;
+        this.productJobRunner = productJobRunner;
+    }
+
+    /**
+     * Persists a new job and schedules it for processing.
+     * The job is sized and claimed in the background, so the request only costs the insert.
+     *
+     * @param request the job to run
+     * @return the state of the queued job
+     * @throws InvalidRequestException if the type is missing or a parameter is invalid
+     */
+    @Override
+    public ProductJobResponse submitJob(ProductJobRequest request) {
+        if (request == null || request.type() == null) {
+            throw new InvalidRequestException("Job type is required");
+        }
+        ProductJobHandler handler = productJobRunner.handler(request.type());
+        if (handler == null) {
+            throw new InvalidRequestException("Unsupported job type: " + request.type());
+        }
+        handler.validate(request);
+
+        Instant now = Instant.now();
+        ProductJobEntity job = new ProductJobEntity();
+        job.setType(request.type());
+        job.setStatus(ProductJobStatus.QUEUED);
+        job.setPercent(request.percent());
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        ProductJobEntity savedJob = productJobRepository.save(job);
+
+        // Start soon if a worker is free; otherwise the job waits in the table for the next dispatch.
+        productJobRunner.requestDispatch();
+        return ProductJobResponse.of(savedJob);
+    }
+
+    /**
+     * Retrieves the state and progress of a job.
+     *
+     * @param id the ID of the job
+     * @return an Optional containing the job state, or an empty Optional if there is no such job
+     */
+    @Override
+    public Optional<ProductJobResponse> findJobById(Long id) {
+        return productJobRepository.findById(id).map(ProductJobResponse::of);
+    }
+
+    /**
+     * Retrieves the output file of a finished job.
+     *
+     * @param id the ID of the job
+     * @return the path of the output file on this instance
+     * @throws ResourceNotFoundException if the job is not found, writes no output, or its output is not readable here
+     * @throws ConflictException if the job has not finished successfully
+     */
+    @Override
+    public Path findJobOutput(Long id) {
+        ProductJobEntity job = productJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        if (job.getStatus() != ProductJobStatus.SUCCEEDED) {
+            throw new ConflictException("Job has not finished successfully, its status is " + job.getStatus());
+        }
+        if (job.getOutput() == null) {
+            throw new ResourceNotFoundException("Job has no output");
+        }
+        Path output = Paths.get(job.getOutput());
+        if (!Files.isReadable(output)) {
+            throw new ResourceNotFoundException("Job output is not available on this instance");
+        }
+        return output;
+    }
+
+    /**
+     * Cancels a job. A queued job is cancelled right away, a running job after its current chunk.
+     *
+     * @param id the ID of the job
+     * @return the state of the job after the cancellation request
+     * @throws ResourceNotFoundException if the job is not found
+     * @throws ConflictException if the job has already finished
+     */
+    @Override
+    public ProductJobResponse cancelJob(Long id) {
+        Instant now = Instant.now();
+        if (productJobRepository.cancelQueued(id, ProductJobStatus.QUEUED, ProductJobStatus.CANCELLED, now) == 0
+                && productJobRepository.requestCancel(id, ProductJobStatus.RUNNING, now) == 0) {
+            ProductJobEntity job = productJobRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+            throw new ConflictException("Job has already finished with status " + job.getStatus());
+        }
+
+        return productJobRepository.findById(id)
+                .map(ProductJobResponse::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+    }
+}
@@ -0,0 +1,195 @@
+package com.dev.product.service.impl;
+
+import com.dev.product.bulkhead.Workload;
+import com.dev.product.bulkhead.WorkloadContext;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.service.ProductScanService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collector;
+
+/**
+ * Implementation of the ProductScanService interface.
+ * The prod_id span of the table is split recursively on a dedicated ForkJoinPool. Every leaf range is read on its own
+ * read-only connection from the bulk pool with a forward-only cursor, so rows are streamed in batches of the fetch
+ * size instead of being materialized. The span is split into several ranges per worker, so gaps in the ID sequence
+ * and idle workers even out through work stealing. A worker holds at most one connection at a time, so parallelism
+ * is capped to one less than the size of the bulk pool, leaving a connection for full catalog reads and batch changes.
+ * Each range is read in its own transaction, so a scan does not see the table at a single point in time:
+ * rows changed while it runs may be read before or after the change. Callers that keep the result must catch up
+ * on changes made since the scan started.
+ */
+@Service
+public class ProductScanServiceImpl implements ProductScanService {
+
+    /**
+     * The number of leaf ranges per worker.
+     */
+    private static final int RANGES_PER_WORKER = 4;
+
+    private static final String SELECT_RANGE = "SELECT prod_id, name, description, price, updated_at FROM products "
+            + "WHERE prod_id >= ? AND prod_id < ?";
+
+    private final DataSource dataSource;
+    private final int maxParallelism;
+    private final int defaultParallelism;
+    private final int fetchSize;
+
+    /**
+     * Constructs a new ProductScanServiceImpl.
+     *
+     * @param dataSource     the DataSource the ranges are read from, on the bulk pool
+     * @param bulkDataSource the bulk pool, whose size less one caps the parallelism
+     * @param parallelism    the default number of ranges processed at once, or 0 for the number of cores
+     * @param fetchSize      the number of rows fetched per round trip
+     */
+    public ProductScanServiceImpl(DataSource dataSource,
+                                  @Qualifier("bulkDataSource") HikariDataSource bulkDataSource,
+                                  @Value("${product.scan.parallelism:0}") int parallelism,
+                                  @Value("${product.scan.fetch-size:1000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.maxParallelism = Math.max(1, bulkDataSource.getMaximumPoolSize() - 1);
+        this.defaultParallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams every product through the collector, using the configured parallelism.
+     *
+     * @param collector the collector to apply
+     * @return the collected result
+     */
+    @Override
+    public <A, R> R scan(Collector<? super ProductEntity, A, R> collector) {
+        return scan(collector, defaultParallelism);
+    }
+
+    /**
+     * Streams every product through the collector with the given number of parallel ranges.
+     *
+     * @param collector   the collector to apply
+     * @param parallelism the number of ranges processed at once, capped to one less than the bulk connection pool size
+     * @return the collected result
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <A, R> R scan(Collector<? super ProductEntity, A, R> collector, int parallelism) {
+        int workers = Math.max(1, Math.min(parallelism, maxParallelism));
+        long[] bounds = WorkloadContext.callAs(Workload.BULK, this::idBounds);
+        A container;
+        if (bounds == null) {
+            container = collector.supplier().get();
+        } else {
+            long from = bounds[0];
+            long to = bounds[1] + 1;
+            long leafSpan = Math.max(1, (to - from + (long) workers * RANGES_PER_WORKER - 1) / ((long) workers * RANGES_PER_WORKER));
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            try {
+                container = pool.invoke(new RangeTask<>(collector, from, to, leafSpan));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+                ? (R) container
+                : collector.finisher().apply(container);
+    }
+
+    /**
+     * Returns the lowest and highest prod_id, or null if the table is empty.
+     */
+    private long[] idBounds() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT min(prod_id), max(prod_id) FROM products")) {
+            resultSet.next();
+            long min = resultSet.getLong(1);
+            return resultSet.wasNull() ? null : new long[]{min, resultSet.getLong(2)};
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Failed to read the prod_id range", e);
+        }
+    }
+
+    /**
+     * Streams the products with from <= prod_id < to into a new container.
+     */
+    private <A> A readRange(Collector<? super ProductEntity, A, ?> collector, long from, long to) {
+        A container = collector.supplier().get();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            // The driver only streams with a cursor inside a transaction; with auto-commit it buffers the whole result.
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_RANGE,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, from);
+                statement.setLong(2, to);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        collector.accumulator().accept(container, toProduct(resultSet));
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Failed to scan products " + from + " to " + to, e);
+        }
+        return container;
+    }
+
+    private static ProductEntity toProduct(ResultSet resultSet) throws SQLException {
+        ProductEntity product = new ProductEntity(
+                resultSet.getLong("prod_id"),
+                resultSet.getString("name"),
+                resultSet.getString("price"),
+                resultSet.getString("description"));
+        Timestamp updatedAt = resultSet.getTimestamp("updated_at");
+        product.setUpdatedAt(updatedAt == null ? null : updatedAt.toInstant());
+        return product;
+    }
+
+    /**
+     * Splits a prod_id range in halves until it is no wider than the leaf span, then reads it.
+     */
+    private final class RangeTask<A> extends RecursiveTask<A> {
+
+        private final Collector<? super ProductEntity, A, ?> collector;
+        private final long from;
+        private final long to;
+        private final long leafSpan;
+
+        private RangeTask(Collector<? super ProductEntity, A, ?> collector, long from, long to, long leafSpan) {
+            this.collector = collector;
+            this.from = from;
+            this.to = to;
+            this.leafSpan = leafSpan;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= leafSpan) {
+                return WorkloadContext.callAs(Workload.BULK, () -> readRange(collector, from, to));
+            }
+            long middle = from + (to - from) / 2;
+            RangeTask<A> left = new RangeTask<>(collector, from, middle, leafSpan);
+            RangeTask<A> right = new RangeTask<>(collector, middle, to, leafSpan);
+            right.fork();
+            A leftResult = left.compute();
+            return collector.combiner().apply(leftResult, right.join());
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.dev.product.service.impl;
 
+import com.dev.product.cache.ProductNearCache;
+import com.dev.product.catalog.CatalogSnapshot;
+import com.dev.product.catalog.ProductCatalog;
+import com.dev.product.dto.ProductFields;
 import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import com.dev.product.exception.InvalidRequestException;
+import com.dev.product.idempotency.IdempotencyService;
 import com.dev.product.exception.ResourceNotFoundException;
 import com.dev.product.repository.ProductRepository;
 import com.dev.product.service.ProductService;
+import com.dev.product.store.MappedProductStore;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -13,38 +23,124 @@ import java.util.Optional;
  * Provides the business logic for managing products.
  */
 @Service
+@Observed(name = "product.service")
 public class ProductServiceImpl implements ProductService {
 
+    /**
+     * The product fields that can be selected in projections.
+     */
+    private static final List<String> PRODUCT_FIELDS = List.of("id", "name", "description", "price");
+
     private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
+    private final ProductNearCache nearCache;
+    private final MappedProductStore productStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
 
     /**
-     * Constructs a new ProductServiceImpl with the specified ProductRepository.
+     * Constructs a new ProductServiceImpl.
      *
-     * @param productRepository the ProductRepository to be used
+     * @param productRepository  the ProductRepository to be used
+     * @param productCatalog     the in-memory catalog served to readers when it is loaded
+     * @param nearCache          the cluster-coherent cache of point lookups
+     * @param productStore       the memory-mapped store used to read through point lookups
+     * @param eventPublisher     the publisher notified of every product change
+     * @param idempotencyService the service deduplicating writes made with an idempotency key
      */
-    public ProductServiceImpl(ProductRepository productRepository) {
+    public ProductServiceImpl(ProductRepository productRepository,
+                              ProductCatalog productCatalog,
+                              ProductNearCache nearCache,
+                              MappedProductStore productStore,
+                              ApplicationEventPublisher eventPublisher,
+                              IdempotencyService idempotencyService) {
         this.productRepository = productRepository;
+        this.productCatalog = productCatalog;
+        this.nearCache = nearCache;
+        this.productStore = productStore;
+        this.eventPublisher = eventPublisher;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
      * Retrieves all products.
+     * Served from the in-memory catalog when it is loaded.
      *
      * @return a list of all ProductEntity objects
      */
     @Override
     public List<ProductEntity> findAllProducts() {
+        CatalogSnapshot snapshot = productCatalog.current();
+        if (snapshot != null) {
+            return snapshot.toList();
+        }
+
         return productRepository.findAll();
     }
 
+    /**
+     * Retrieves the selected fields of all products without loading full entities, ordered by ID.
+     * Served from the in-memory catalog when it is loaded.
+     *
+     * @param fields the names of the fields to include
+     * @return a list with one projection per product, with the fields that were not selected left null
+     * @throws InvalidRequestException if no field or an unknown field is requested
+     */
+    @Override
+    public List<ProductFields> findAllProductFields(List<String> fields) {
+        List<String> selected = fields.stream()
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .toList();
+        if (selected.isEmpty()) {
+            throw new InvalidRequestException("At least one field is required");
+        }
+        for (String field : selected) {
+            if (!PRODUCT_FIELDS.contains(field)) {
+                throw new InvalidRequestException("Unknown field: " + field);
+            }
+        }
+
+        CatalogSnapshot snapshot = productCatalog.current();
+        if (snapshot != null) {
+            return snapshot.project(selected);
+        }
+
+        return productRepository.findAllFields(selected);
+    }
+
     /**
      * Retrieves a product by its ID.
+     * Served from the in-memory catalog when it is loaded, and otherwise read through the near-cache and the memory-mapped store.
      *
      * @param id the ID of the product to retrieve
      * @return an Optional containing the ProductEntity if found, or an empty Optional otherwise
      */
     @Override
     public Optional<ProductEntity> findById(Long id) {
-        return productRepository.findById(id);
+        CatalogSnapshot snapshot = productCatalog.current();
+        if (snapshot != null) {
+            return snapshot.find(id);
+        }
+
+        Optional<ProductEntity> cached = nearCache.find(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long generation = nearCache.generation();
+        long storeGeneration = productStore.generation();
+        Optional<ProductEntity> stored = productStore.find(id);
+        if (stored.isPresent()) {
+            nearCache.put(stored.get(), generation);
+            return stored;
+        }
+
+        Optional<ProductEntity> product = productRepository.findById(id);
+        product.ifPresent(found -> productStore.fill(found, storeGeneration));
+        product.ifPresent(found -> nearCache.put(found, generation));
+        return product;
     }
 
     /**
@@ -55,7 +151,22 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     public ProductEntity saveProduct(ProductEntity productEntity) {
-        return productRepository.save(productEntity);
+        ProductEntity savedProduct = productRepository.save(productEntity);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId(), null, savedProduct.copy()));
+        return savedProduct;
+    }
+
+    /**
+     * Saves a new product at most once per idempotency key.
+     *
+     * @param productEntity  the ProductEntity object to save
+     * @param idempotencyKey the Idempotency-Key sent by the client
+     * @return the ProductEntity object saved by the first request with this key
+     */
+    @Override
+    public ProductEntity saveProduct(ProductEntity productEntity, String idempotencyKey) {
+        return idempotencyService.execute("POST /products", idempotencyKey, productEntity, ProductEntity.class,
+                () -> saveProduct(productEntity));
     }
 
     /**
@@ -74,9 +185,12 @@ public class ProductServiceImpl implements ProductService {
         }
 
         ProductEntity _product = product.get();
+        ProductEntity before = _product.copy();
         _product.merge(productEntity);
 
-        return productRepository.save(_product);
+        ProductEntity updatedProduct = productRepository.save(_product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, before, updatedProduct.copy()));
+        return updatedProduct;
     }
 
     /**
@@ -87,11 +201,12 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     public void deleteProduct(Long id) {
-        Optional<ProductEntity> product = this.findById(id);
+        Optional<ProductEntity> product = productRepository.findById(id);
         if (product.isEmpty()) {
             throw new ResourceNotFoundException("Product not found");
         }
 
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, product.get(), null));
     }
 }
\ No newline at end of file
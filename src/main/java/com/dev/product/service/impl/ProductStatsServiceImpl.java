@@ -0,0 +1,103 @@
+package com.dev.product.service.impl;
+
+import com.dev.product.dto.ProductStatsResponse;
+import com.dev.product.entity.ProductStatsEntity;
+import com.dev.product.repository.ProductStatsDeltaRepository;
+import com.dev.product.repository.ProductStatsRepository;
+import com.dev.product.service.ProductStatsService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Implementation of the ProductStatsService interface.
+ * Product changes are journaled by the database in the same transaction as the change and folded into the summary row
+ * by a periodic flush, so writes never contend on the summary row and no change is counted twice or lost.
+ * Reads are served from a copy of the summary row that every instance reloads on each flush tick.
+ */
+@Service
+public class ProductStatsServiceImpl implements ProductStatsService {
+
+    private final ProductStatsRepository productStatsRepository;
+    private final ProductStatsDeltaRepository productStatsDeltaRepository;
+
+    private volatile ProductStatsEntity summary;
+
+    /**
+     * Constructs a new ProductStatsServiceImpl.
+     *
+     * @param productStatsRepository      the repository of the summary row
+     * @param productStatsDeltaRepository the repository of the journaled deltas
+     */
+    public ProductStatsServiceImpl(ProductStatsRepository productStatsRepository,
+                                   ProductStatsDeltaRepository productStatsDeltaRepository) {
+        this.productStatsRepository = productStatsRepository;
+        this.productStatsDeltaRepository = productStatsDeltaRepository;
+    }
+
+    /**
+     * Creates the delta journal and its triggers.
+     */
+    @PostConstruct
+    public void createSchema() {
+        productStatsDeltaRepository.createSchema();
+    }
+
+    /**
+     * Retrieves the catalog statistics from the cached summary row.
+     * Changes are visible once the next flush has folded them in, on whichever instance runs it.
+     *
+     * @return the catalog statistics
+     */
+    @Override
+    public ProductStatsResponse getStats() {
+        ProductStatsEntity current = summary;
+        if (current == null) {
+            reconcile();
+            current = summary;
+        }
+
+        BigDecimal averagePrice = current.getPricedCount() > 0
+                ? current.getPriceSum().divide(BigDecimal.valueOf(current.getPricedCount()), 2, RoundingMode.HALF_UP)
+                : null;
+        return new ProductStatsResponse(current.getProductCount(), current.getMinPrice(), current.getMaxPrice(),
+                averagePrice, current.getReconciledAt());
+    }
+
+    /**
+     * Recomputes all statistics from the products table and discards the deltas already contained in them, in one statement.
+     */
+    @Override
+    @Scheduled(cron = "${product.stats.reconcile-cron:0 0 * * * *}")
+    public synchronized void reconcile() {
+        productStatsRepository.reconcile(ProductStatsEntity.SUMMARY_ID);
+        reload();
+    }
+
+    /**
+     * Creates or corrects the summary row once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Folds the journaled deltas into the summary row and reloads it.
+     * The summary is reloaded even if this instance found nothing to fold, since another instance may have.
+     */
+    @Scheduled(fixedDelayString = "${product.stats.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        productStatsDeltaRepository.applyDeltas(ProductStatsEntity.SUMMARY_ID);
+        reload();
+    }
+
+    private void reload() {
+        productStatsRepository.findById(ProductStatsEntity.SUMMARY_ID).ifPresent(row -> summary = row);
+    }
+}
@@ -0,0 +1,124 @@
+package com.dev.product.snapshot;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Serves plain GET /products requests straight from the pre-compressed catalog snapshot.
+ * Uses Tomcat's sendfile support when the connector offers it, and FileChannel.transferTo otherwise,
+ * so the catalog is neither re-serialized nor re-compressed per request.
+ * Registered as the last interceptor, so snapshot responses still pass rate limiting, the bulkheads and admission control.
+ */
+@Component
+@ConditionalOnProperty(name = "product.snapshot.enabled", havingValue = "true")
+public class CatalogFileSnapshotInterceptor implements HandlerInterceptor {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final CatalogFileSnapshotWriter snapshotWriter;
+
+    /**
+     * Constructs a new CatalogFileSnapshotInterceptor.
+     *
+     * @param snapshotWriter the writer holding the current snapshot
+     */
+    public CatalogFileSnapshotInterceptor(CatalogFileSnapshotWriter snapshotWriter) {
+        this.snapshotWriter = snapshotWriter;
+    }
+
+    /**
+     * Answers full-catalog GET requests without query parameters from gzip-capable clients from the snapshot.
+     *
+     * @return false if the response was served from the snapshot, true if the request should go to the controller
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || request.getQueryString() != null
+                || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return true;
+        }
+        CatalogFileSnapshotWriter.Snapshot snapshot = snapshotWriter.current();
+        if (snapshot == null) {
+            return true;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLengthLong(snapshot.size());
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, snapshot.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, snapshot.size());
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshot.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < snapshot.size()) {
+                position += channel.transferTo(position, snapshot.size() - position, out);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether an Accept-Encoding header allows a gzip response.
+     * An explicit gzip entry takes precedence over the * wildcard, and an entry with q=0 refuses the coding.
+     *
+     * @param acceptEncoding the Accept-Encoding header, or null if the client sent none
+     * @return true if gzip is accepted with a non-zero quality
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                wildcard = Math.max(wildcard, quality);
+            }
+        }
+        return (gzip >= 0 ? gzip : wildcard) > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,122 @@
+package com.dev.product.snapshot;
+
+import com.dev.product.bulkhead.Workload;
+import com.dev.product.bulkhead.WorkloadContext;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.DirectoryStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Periodically materializes the full product catalog as a pre-compressed JSON file.
+ * Every refresh writes a new generation file, so a response that is still being sent
+ * from the previous generation is never overwritten underneath it.
+ * Generations restart at 1 on every start, so files left by earlier runs are removed at startup.
+ */
+@Component
+@ConditionalOnProperty(name = "product.snapshot.enabled", havingValue = "true")
+public class CatalogFileSnapshotWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogFileSnapshotWriter.class);
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+
+    private volatile Snapshot current;
+    private long generation;
+
+    /**
+     * Constructs a new CatalogFileSnapshotWriter.
+     *
+     * @param productService the ProductService used to read the catalog
+     * @param objectMapper   the ObjectMapper used by the web layer, so the snapshot matches GET /products
+     * @param directory      the directory the snapshot files are written to
+     */
+    public CatalogFileSnapshotWriter(ProductService productService,
+                                     ObjectMapper objectMapper,
+                                     @Value("${product.snapshot.directory}") String directory) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Removes snapshot files left in the directory by earlier runs.
+     * Nothing is serving them anymore, and the generation counter would otherwise never reach them again.
+     */
+    @PostConstruct
+    public void removeStaleFiles() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "catalog-*.json.gz*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to remove stale catalog snapshots in {}", directory, e);
+        }
+    }
+
+    /**
+     * Rewrites the snapshot file from the current catalog and publishes it to readers.
+     */
+    @Scheduled(fixedDelayString = "${product.snapshot.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        try {
+            Files.createDirectories(directory);
+            List<ProductEntity> products = WorkloadContext.callAs(Workload.BULK, productService::findAllProducts);
+
+            long next = generation + 1;
+            Path tmp = directory.resolve("catalog-" + next + ".json.gz.tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+                objectMapper.writeValue(out, products);
+            }
+            Path target = directory.resolve("catalog-" + next + ".json.gz");
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            current = new Snapshot(target, Files.size(target));
+            generation = next;
+
+            // Keep the previous generation around for responses that are still in flight.
+            Files.deleteIfExists(directory.resolve("catalog-" + (next - 2) + ".json.gz"));
+        } catch (IOException e) {
+            log.warn("Failed to refresh catalog snapshot in {}", directory, e);
+        }
+    }
+
+    /**
+     * Returns the most recently published snapshot.
+     *
+     * @return the current snapshot, or null if none has been written yet
+     */
+    public Snapshot current() {
+        return current;
+    }
+
+    /**
+     * A published, gzip-compressed snapshot file.
+     *
+     * @param path the location of the snapshot file
+     * @param size the size of the compressed file in bytes
+     */
+    public record Snapshot(Path path, long size) {
+    }
+}
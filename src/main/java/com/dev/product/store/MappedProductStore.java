@@ -0,0 +1,420 @@
+package com.dev.product.store;
+
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local persistent product store backed by a memory-mapped file.
+ * Records have a fixed width and sit at an offset derived from prod_id, so no index is held on the heap.
+ * Only IDs below product.store.max-records are stored, which bounds the size of the file; larger IDs are read from the database.
+ * The file survives restarts, which lets a fresh instance serve point reads before any cache is warm.
+ * Each record is guarded by a sequence counter: writers are serialized, readers never lock and retry on a torn read.
+ * Deleted products leave a tombstone and each record carries the updated_at of its version,
+ * so a read-through of a row that has since changed or been deleted can never overwrite the newer state.
+ * Changes made by other instances arrive through the invalidation channel. The store is only read while that channel
+ * is listening, and the time up to which it has seen every change is kept next to the file, so after a restart or
+ * reconnect only the products changed since then are invalidated instead of the whole store.
+ */
+@Component
+public class MappedProductStore {
+
+    static final int RECORD_SIZE = 512;
+    static final int SEGMENT_RECORDS = 1 << 16;
+    static final long SEGMENT_SIZE = (long) RECORD_SIZE * SEGMENT_RECORDS;
+
+    private static final int ID = 0;
+    private static final int VERSION = 8;
+    private static final int STATE = 12;
+    private static final int UPDATED_AT = 13;
+    private static final int NAME = UPDATED_AT + 8;
+    private static final int NAME_MAX = 128;
+    private static final int PRICE = NAME + 2 + NAME_MAX;
+    private static final int PRICE_MAX = 32;
+    private static final int DESCRIPTION = PRICE + 2 + PRICE_MAX;
+    private static final int DESCRIPTION_MAX = RECORD_SIZE - DESCRIPTION - 2;
+
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final int MAX_READ_ATTEMPTS = 64;
+
+    private static final byte EMPTY = 0;
+    private static final byte PRESENT = 1;
+    private static final byte REMOVED = 2;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final boolean enabled;
+    private final Path file;
+    private final Path syncFile;
+    private final long maxRecords;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile boolean connected;
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+    /**
+     * Constructs a new MappedProductStore.
+     *
+     * @param enabled    whether the store is used at all
+     * @param file       the location of the store file
+     * @param maxRecords the number of record slots, which is one more than the largest storable ID
+     */
+    public MappedProductStore(@Value("${product.store.enabled:false}") boolean enabled,
+                              @Value("${product.store.file:product-store.dat}") String file,
+                              @Value("${product.store.max-records:1048576}") long maxRecords) {
+        this.enabled = enabled;
+        this.file = Paths.get(file);
+        this.syncFile = this.file.resolveSibling(this.file.getFileName() + ".synced");
+        this.maxRecords = maxRecords;
+    }
+
+    /**
+     * Opens the store file and maps every segment already present on disk.
+     */
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int existing = (int) Math.min((channel.size() + SEGMENT_SIZE - 1) / SEGMENT_SIZE, segmentCount());
+            if (existing > 0) {
+                mapSegment(existing - 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open product store " + file, e);
+        }
+    }
+
+    /**
+     * Flushes and closes the store file.
+     */
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads a product from the store.
+     *
+     * @param id the ID of the product
+     * @return an Optional containing the stored product, or an empty Optional if the store has no entry for it
+     */
+    public Optional<ProductEntity> find(long id) {
+        MappedByteBuffer segment = segmentFor(id);
+        if (segment == null || !connected) {
+            return Optional.empty();
+        }
+
+        int base = offset(id);
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            int version = (int) INT.getAcquire(segment, base + VERSION);
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (segment.get(base + STATE) != PRESENT || segment.getLong(base + ID) != id) {
+                return Optional.empty();
+            }
+            long updatedAt = segment.getLong(base + UPDATED_AT);
+            String name = readString(segment, base + NAME, NAME_MAX);
+            String price = readString(segment, base + PRICE, PRICE_MAX);
+            String description = readString(segment, base + DESCRIPTION, DESCRIPTION_MAX);
+            VarHandle.acquireFence();
+            if ((int) INT.getVolatile(segment, base + VERSION) == version) {
+                ProductEntity product = new ProductEntity(id, name, price, description);
+                product.setUpdatedAt(fromMicros(updatedAt));
+                return Optional.of(product);
+            }
+        }
+        // A record left half-written by a crash stays odd until it is rewritten, so give up and let the caller use the database.
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the current invalidation generation.
+     * Read it before loading a product from the database and pass it to {@link #fill}.
+     *
+     * @return the current generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Writes a product committed by this instance to the store.
+     * Products whose fields do not fit the fixed record width are removed instead, so they are always read from the database.
+     * The write is ignored if the product was deleted or the store already holds a newer version.
+     *
+     * @param product the product to store
+     */
+    public synchronized void put(ProductEntity product) {
+        generation.incrementAndGet();
+        write(product);
+    }
+
+    /**
+     * Writes a product read from the database to the store, unless it may have changed since it was read.
+     *
+     * @param product    the product read from the database
+     * @param generation the generation returned by {@link #generation()} before the product was read
+     */
+    public synchronized void fill(ProductEntity product, long generation) {
+        if (connected && generation == this.generation.get()) {
+            write(product);
+        }
+    }
+
+    /**
+     * Records that a product was deleted, so it is neither served nor filled in again.
+     *
+     * @param id the ID of the deleted product
+     */
+    public synchronized void remove(long id) {
+        generation.incrementAndGet();
+        setState(id, REMOVED);
+    }
+
+    /**
+     * Drops the stored copy of a product that may have been changed by another instance.
+     *
+     * @param id the ID of the product
+     */
+    public synchronized void invalidate(long id) {
+        generation.incrementAndGet();
+        setState(id, EMPTY);
+    }
+
+    /**
+     * Removes every product from the store.
+     */
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        for (MappedByteBuffer segment : segments) {
+            for (int base = 0; base < SEGMENT_SIZE; base += RECORD_SIZE) {
+                if (segment.get(base + STATE) != EMPTY) {
+                    int version = beginWrite(segment, base);
+                    segment.put(base + STATE, EMPTY);
+                    INT.setRelease(segment, base + VERSION, version + 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts or stops serving products as the invalidation channel connects or disconnects.
+     * Connect only after the changes missed since {@link #syncedAt()} have been invalidated.
+     *
+     * @param connected whether the invalidation channel is listening
+     */
+    public synchronized void setConnected(boolean connected) {
+        generation.incrementAndGet();
+        this.connected = enabled && connected;
+    }
+
+    /**
+     * Returns the time up to which the store has seen every change made by any instance.
+     *
+     * @return the database time of the last confirmed sync, or null if the store may have missed changes since it was created
+     */
+    public Instant syncedAt() {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            return Instant.parse(Files.readString(syncFile).strip());
+        } catch (IOException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Records that the store has seen every change made up to the given time.
+     *
+     * @param at the database time up to which all invalidations have been applied
+     */
+    public void markSynced(Instant at) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Path written = Files.writeString(syncFile.resolveSibling(syncFile.getFileName() + ".tmp"), at.toString());
+            Files.move(written, syncFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record the sync time of product store " + file, e);
+        }
+    }
+
+    /**
+     * Keeps the store in sync with the write paths of the product service.
+     *
+     * @param event the change published by the product service
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.id());
+        } else {
+            put(event.after());
+        }
+    }
+
+    private void write(ProductEntity product) {
+        long id = product.getId();
+        if (!enabled || id < 0 || id >= maxRecords) {
+            return;
+        }
+        MappedByteBuffer segment = mapSegment((int) (id / SEGMENT_RECORDS));
+        int base = offset(id);
+        long updatedAt = toMicros(product.getUpdatedAt());
+        if (segment.getLong(base + ID) == id) {
+            byte state = segment.get(base + STATE);
+            if (state == REMOVED || (state == PRESENT && segment.getLong(base + UPDATED_AT) > updatedAt)) {
+                return;
+            }
+        }
+
+        byte[] name = bytes(product.getName());
+        byte[] price = bytes(product.getPrice());
+        byte[] description = bytes(product.getDescription());
+        if (length(name) > NAME_MAX || length(price) > PRICE_MAX || length(description) > DESCRIPTION_MAX) {
+            setState(id, EMPTY);
+            return;
+        }
+
+        int version = beginWrite(segment, base);
+        segment.putLong(base + ID, id);
+        segment.put(base + STATE, PRESENT);
+        segment.putLong(base + UPDATED_AT, updatedAt);
+        writeString(segment, base + NAME, name);
+        writeString(segment, base + PRICE, price);
+        writeString(segment, base + DESCRIPTION, description);
+        INT.setRelease(segment, base + VERSION, version + 2);
+    }
+
+    private void setState(long id, byte state) {
+        MappedByteBuffer segment = segmentFor(id);
+        if (segment == null) {
+            return;
+        }
+        int base = offset(id);
+        int version = beginWrite(segment, base);
+        segment.putLong(base + ID, id);
+        segment.put(base + STATE, state);
+        INT.setRelease(segment, base + VERSION, version + 2);
+    }
+
+    private int segmentCount() {
+        return (int) ((maxRecords + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS);
+    }
+
+    private MappedByteBuffer segmentFor(long id) {
+        if (!enabled || id < 0 || id >= maxRecords) {
+            return null;
+        }
+        MappedByteBuffer[] current = segments;
+        long index = id / SEGMENT_RECORDS;
+        return index < current.length ? current[(int) index] : null;
+    }
+
+    private MappedByteBuffer mapSegment(int index) {
+        MappedByteBuffer[] current = segments;
+        if (index < current.length) {
+            return current[index];
+        }
+        try {
+            MappedByteBuffer[] grown = Arrays.copyOf(current, index + 1);
+            for (int i = current.length; i <= index; i++) {
+                grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * SEGMENT_SIZE, SEGMENT_SIZE);
+            }
+            segments = grown;
+            return grown[index];
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map product store segment " + index, e);
+        }
+    }
+
+    /**
+     * Marks a record as being written and returns the even version it had before.
+     */
+    private static int beginWrite(MappedByteBuffer segment, int base) {
+        int version = ((int) INT.getVolatile(segment, base + VERSION) + 1) & ~1;
+        INT.setVolatile(segment, base + VERSION, version + 1);
+        return version;
+    }
+
+    private static int offset(long id) {
+        return (int) (id % SEGMENT_RECORDS) * RECORD_SIZE;
+    }
+
+    private static long toMicros(Instant instant) {
+        return instant == null ? NO_TIMESTAMP : instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+
+    private static Instant fromMicros(long micros) {
+        return micros == NO_TIMESTAMP ? null : Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static String readString(MappedByteBuffer segment, int position, int max) {
+        int length = segment.getShort(position) & 0xFFFF;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] value = new byte[Math.min(length, max)];
+        segment.get(position + 2, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(MappedByteBuffer segment, int position, byte[] value) {
+        if (value == null) {
+            segment.putShort(position, (short) NULL_LENGTH);
+            return;
+        }
+        segment.putShort(position, (short) value.length);
+        segment.put(position + 2, value);
+    }
+}
@@ -0,0 +1,201 @@
+package com.dev.product.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener on the proxied DataSource that traces the JDBC layer and captures slow queries.
+ * Connection acquisition from the pool and every statement get their own observation.
+ * Statements slower than the threshold are logged with their bind parameters, and a sample of slow
+ * SELECT statements is re-run with EXPLAIN in the background to log the plan.
+ */
+@Component
+public class JdbcObservationListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcObservationListener.class);
+
+    private static final ThreadLocal<Observation> CONNECTION = new ThreadLocal<>();
+    private static final ThreadLocal<Observation> QUERY = new ThreadLocal<>();
+
+    private final ObservationRegistry observationRegistry;
+    private final DataSource explainDataSource;
+    private final long slowQueryThresholdMs;
+    private final double explainSampleRate;
+    private final ExecutorService explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * Constructs a new JdbcObservationListener.
+     *
+     * @param observationRegistry  the registry observations are created in
+     * @param explainDataSource    the unproxied pool EXPLAIN statements run on
+     * @param slowQueryThresholdMs the duration above which a statement is logged as slow
+     * @param explainSampleRate    the fraction of slow SELECT statements that are explained
+     */
+    public JdbcObservationListener(ObservationRegistry observationRegistry,
+                                   @Qualifier("bulkDataSource") DataSource explainDataSource,
+                                   @Value("${product.tracing.slow-query-threshold-ms:200}") long slowQueryThresholdMs,
+                                   @Value("${product.tracing.explain-sample-rate:0.1}") double explainSampleRate) {
+        this.observationRegistry = observationRegistry;
+        this.explainDataSource = explainDataSource;
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+        this.explainSampleRate = explainSampleRate;
+    }
+
+    /**
+     * Starts the connection acquisition observation when a connection is requested from the pool.
+     *
+     * @param executionContext the intercepted method call
+     */
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        if (isGetConnection(executionContext)) {
+            CONNECTION.set(Observation.start("product.jdbc.connection", observationRegistry)
+                    .contextualName("connection acquire"));
+        }
+    }
+
+    /**
+     * Stops the connection acquisition observation, recording the error if the pool could not provide a connection.
+     *
+     * @param executionContext the intercepted method call
+     */
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (isGetConnection(executionContext)) {
+            Observation observation = CONNECTION.get();
+            CONNECTION.remove();
+            if (observation != null) {
+                if (executionContext.getThrown() != null) {
+                    observation.error(executionContext.getThrown());
+                }
+                observation.stop();
+            }
+        }
+    }
+
+    /**
+     * Starts the statement observation.
+     *
+     * @param execInfo      the execution about to run
+     * @param queryInfoList the statements of the execution
+     */
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QUERY.set(Observation.createNotStarted("product.jdbc.query", observationRegistry)
+                .contextualName("query")
+                .highCardinalityKeyValue("db.statement", queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery())
+                .start());
+    }
+
+    /**
+     * Stops the statement observation and logs the statement if it was slower than the threshold.
+     *
+     * @param execInfo      the execution that ran
+     * @param queryInfoList the statements of the execution
+     */
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = QUERY.get();
+        QUERY.remove();
+        if (observation != null) {
+            if (execInfo.getThrowable() != null) {
+                observation.error(execInfo.getThrowable());
+            }
+            observation.stop();
+        }
+
+        if (execInfo.getElapsedTime() < slowQueryThresholdMs) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<Object> parameters = firstParameterSet(queryInfo);
+            log.warn("Slow query took {} ms: {} parameters={}", execInfo.getElapsedTime(), queryInfo.getQuery(), parameters);
+            if (isSelect(queryInfo.getQuery()) && ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+                String query = queryInfo.getQuery();
+                explainExecutor.execute(() -> explain(query, parameters));
+            }
+        }
+    }
+
+    private void explain(String query, List<Object> parameters) {
+        try (Connection connection = explainDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(System.lineSeparator()).append(resultSet.getString(1));
+                }
+            }
+            log.warn("Plan of slow query {}:{}", query, plan);
+        } catch (SQLException e) {
+            log.debug("Failed to explain slow query {}", query, e);
+        }
+    }
+
+    /**
+     * Shuts down the background EXPLAIN thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    /**
+     * Extracts the positional bind parameters of the first execution, ordered by position.
+     */
+    private static List<Object> firstParameterSet(QueryInfo queryInfo) {
+        if (queryInfo.getParametersList().isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Object> byPosition = new TreeMap<>();
+        for (ParameterSetOperation operation : queryInfo.getParametersList().get(0)) {
+            Object[] args = operation.getArgs();
+            if (args.length > 1 && args[0] instanceof Integer position) {
+                boolean isNull = "setNull".equals(operation.getMethod().getName());
+                byPosition.put(position, isNull ? null : args[1]);
+            }
+        }
+        return new ArrayList<>(byPosition.values());
+    }
+
+    private static boolean isSelect(String query) {
+        return query.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private static boolean isGetConnection(MethodExecutionContext executionContext) {
+        return executionContext.getTarget() instanceof DataSource
+                && "getConnection".equals(executionContext.getMethod().getName());
+    }
+}
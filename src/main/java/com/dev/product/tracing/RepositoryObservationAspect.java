@@ -0,0 +1,67 @@
+package com.dev.product.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Aspect creating an observation, and therefore a span, around every call to a product repository.
+ * Spring Data repositories are proxies, so the call is matched by repository type rather than by annotation.
+ */
+@Aspect
+@Component
+public class RepositoryObservationAspect {
+
+    private final ObservationRegistry observationRegistry;
+
+    /**
+     * Constructs a new RepositoryObservationAspect.
+     *
+     * @param observationRegistry the registry observations are created in
+     */
+    public RepositoryObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Observes a repository method call.
+     *
+     * @param joinPoint the repository method call
+     * @return the result of the call
+     * @throws Throwable if the call fails
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) || within(com.dev.product.repository..*)")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint);
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted("product.repository", observationRegistry)
+                .contextualName(repository + "#" + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Spring Data methods are declared on generic base interfaces, so the name is taken from the application interface.
+     */
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : ClassUtils.getAllInterfaces(joinPoint.getThis())) {
+            if (type.getName().startsWith("com.dev.product.")) {
+                return type.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(joinPoint.getThis()).getSimpleName();
+    }
+}
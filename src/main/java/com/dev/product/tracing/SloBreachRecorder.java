@@ -0,0 +1,136 @@
+package com.dev.product.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a continuous low-overhead JFR recording of the last few minutes and dumps it to a file
+ * whenever an HTTP request breaches the latency SLO. Dumps are rate limited by a cooldown,
+ * so a burst of slow requests produces one recording rather than one per request.
+ */
+@Component
+@ConditionalOnProperty(name = "product.tracing.jfr.enabled", havingValue = "true")
+public class SloBreachRecorder implements ObservationHandler<ServerRequestObservationContext> {
+
+    private static final Logger log = LoggerFactory.getLogger(SloBreachRecorder.class);
+    private static final String START = SloBreachRecorder.class.getName() + ".START";
+
+    private final long sloNanos;
+    private final long cooldownNanos;
+    private final Duration maxAge;
+    private final Path directory;
+    private final AtomicLong lastDump = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+
+    private Recording recording;
+
+    /**
+     * Constructs a new SloBreachRecorder.
+     *
+     * @param sloMs      the request latency above which the recording is dumped
+     * @param cooldownMs the minimum time between two dumps
+     * @param maxAge     how much history the continuous recording keeps
+     * @param directory  the directory recordings are dumped to
+     */
+    public SloBreachRecorder(@Value("${product.tracing.jfr.slo-ms:500}") long sloMs,
+                             @Value("${product.tracing.jfr.cooldown-ms:300000}") long cooldownMs,
+                             @Value("${product.tracing.jfr.max-age:PT5M}") Duration maxAge,
+                             @Value("${product.tracing.jfr.directory:jfr}") String directory) {
+        this.sloNanos = Duration.ofMillis(sloMs).toNanos();
+        this.cooldownNanos = Duration.ofMillis(cooldownMs).toNanos();
+        this.maxAge = maxAge;
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Starts the continuous recording with the JDK's low-overhead "default" settings.
+     */
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("product-slo");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.start();
+    }
+
+    /**
+     * Stops and discards the continuous recording.
+     */
+    @PreDestroy
+    public void stop() {
+        recording.close();
+    }
+
+    /**
+     * Restricts the handler to HTTP server request observations.
+     *
+     * @param context the observation context
+     * @return true if the context belongs to an HTTP server request
+     */
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext;
+    }
+
+    /**
+     * Records the start time of the request.
+     *
+     * @param context the observation context of the request
+     */
+    @Override
+    public void onStart(ServerRequestObservationContext context) {
+        context.put(START, System.nanoTime());
+    }
+
+    /**
+     * Dumps the recording if the request took longer than the SLO and the cooldown has passed.
+     *
+     * @param context the observation context of the request
+     */
+    @Override
+    public void onStop(ServerRequestObservationContext context) {
+        Long start = context.get(START);
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (elapsed > sloNanos) {
+            long last = lastDump.get();
+            long now = System.nanoTime();
+            if (now - last >= cooldownNanos && lastDump.compareAndSet(last, now)) {
+                dump(context, elapsed);
+            }
+        }
+    }
+
+    private void dump(ServerRequestObservationContext context, long elapsedNanos) {
+        Path file = directory.resolve("slo-breach-" + System.currentTimeMillis() + ".jfr");
+        try {
+            Files.createDirectories(directory);
+            recording.dump(file);
+            log.warn("Request {} took {} ms, above the {} ms SLO; dumped JFR recording to {}",
+                    context.getCarrier().getRequestURI(), Duration.ofNanos(elapsedNanos).toMillis(),
+                    Duration.ofNanos(sloNanos).toMillis(), file);
+        } catch (IOException e) {
+            log.warn("Failed to dump JFR recording to {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.dev.product;
+
+import com.dev.product.bulkhead.BulkheadInterceptor;
+import com.dev.product.config.WebConfig;
+import com.dev.product.controller.ProductController;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.globalexceptionhandler.GlobalExceptionHandler;
+import com.dev.product.ratelimit.AdmissionControlInterceptor;
+import com.dev.product.ratelimit.RateLimitInterceptor;
+import com.dev.product.service.ProductService;
+import com.dev.product.snapshot.CatalogFileSnapshotInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdmissionControlInterceptorTest {
+
+    @Mock
+    private ProductService productService;
+
+    private AdmissionControlInterceptor admissionControlInterceptor;
+    private MockHttpServletRequest heldRequest;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productService.findById(1L))
+                .thenReturn(Optional.of(new ProductEntity(1L, "Product 1", "10.00", "Description 1")));
+        admissionControlInterceptor = new AdmissionControlInterceptor(1, 10, new SimpleMeterRegistry());
+        heldRequest = new MockHttpServletRequest("GET", "/products/2");
+    }
+
+    /**
+     * Test case for a request arriving while every execution slot is taken.
+     * Verifies that it is shed with 429 and a Retry-After header once the queue wait target has passed.
+     */
+    @Test
+    void testRejectsWhenSaturated() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(true);
+        assertTrue(admissionControlInterceptor.preHandle(heldRequest, new MockHttpServletResponse(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/products/1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    /**
+     * Test case for a slot being released.
+     * Verifies that completed requests give their slot back, so the next request is admitted.
+     */
+    @Test
+    void testAdmitsAfterRelease() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(true);
+        admissionControlInterceptor.preHandle(heldRequest, new MockHttpServletResponse(), null);
+        admissionControlInterceptor.afterCompletion(heldRequest, new MockHttpServletResponse(), null, null);
+
+        // Act & Assert
+        mockMvc.perform(get("/products/1")).andExpect(status().isFound());
+        mockMvc.perform(get("/products/1")).andExpect(status().isFound());
+    }
+
+    /**
+     * Test case for admission control switched off with product.admission.enabled=false.
+     * Verifies that requests are served even though no slot is free.
+     */
+    @Test
+    void testDisabled() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(false);
+        admissionControlInterceptor.preHandle(heldRequest, new MockHttpServletResponse(), null);
+
+        // Act & Assert
+        mockMvc.perform(get("/products/1")).andExpect(status().isFound());
+    }
+
+    private MockMvc mockMvc(boolean admissionControlEnabled) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WebConfig webConfig = new WebConfig(
+                new RateLimitInterceptor(1024, 100, 100, 100, 100, 100, 100, meterRegistry),
+                new BulkheadInterceptor(32, 50, 4, 1000, meterRegistry),
+                admissionControlInterceptor,
+                new StaticListableBeanFactory().getBeanProvider(CatalogFileSnapshotInterceptor.class),
+                true, admissionControlEnabled);
+        List<HandlerInterceptor> interceptors = new ArrayList<>();
+        webConfig.addInterceptors(new InterceptorRegistry() {
+            @Override
+            public InterceptorRegistration addInterceptor(HandlerInterceptor interceptor) {
+                interceptors.add(interceptor);
+                return super.addInterceptor(interceptor);
+            }
+        });
+        return MockMvcBuilders.standaloneSetup(new ProductController(productService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(interceptors.toArray(HandlerInterceptor[]::new))
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.dev.product;
+
+import com.dev.product.bulkhead.BulkheadInterceptor;
+import com.dev.product.bulkhead.Workload;
+import com.dev.product.bulkhead.WorkloadContext;
+import com.dev.product.bulkhead.WorkloadRoutingDataSource;
+import com.dev.product.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class BulkheadInterceptorTest {
+
+    @Mock
+    private DataSource pointDataSource;
+
+    @Mock
+    private DataSource bulkDataSource;
+
+    @Mock
+    private Connection pointConnection;
+
+    @Mock
+    private Connection bulkConnection;
+
+    private BulkheadInterceptor bulkheadInterceptor;
+    private WorkloadRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(pointDataSource.getConnection()).thenReturn(pointConnection);
+        when(bulkDataSource.getConnection()).thenReturn(bulkConnection);
+        bulkheadInterceptor = new BulkheadInterceptor(2, 10, 1, 10, new SimpleMeterRegistry());
+        routingDataSource = new WorkloadRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.<Object, Object>of(Workload.POINT, pointDataSource, Workload.BULK, bulkDataSource));
+        routingDataSource.setDefaultTargetDataSource(bulkDataSource);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        WorkloadContext.clear();
+    }
+
+    /**
+     * Test case for classifying product requests.
+     * Verifies that the full list, batch changes and job downloads are bulk work and that lookups and single writes are point work.
+     */
+    @Test
+    void testClassification() throws Exception {
+        // Act & Assert
+        assertEquals(Workload.BULK, workloadOf("GET", "/products"));
+        assertEquals(Workload.BULK, workloadOf("PATCH", "/products/batch"));
+        assertEquals(Workload.BULK, workloadOf("DELETE", "/products/batch"));
+        assertEquals(Workload.BULK, workloadOf("GET", "/products/jobs/{id}/output"));
+        assertEquals(Workload.POINT, workloadOf("GET", "/products/jobs/{id}"));
+        assertEquals(Workload.POINT, workloadOf("GET", "/products/{id}"));
+        assertEquals(Workload.POINT, workloadOf("POST", "/products"));
+        assertEquals(Workload.POINT, workloadOf("DELETE", "/products/{id}"));
+    }
+
+    /**
+     * Test case for routing the database work of a classified request.
+     * Verifies that point and bulk requests get connections from their own pools.
+     */
+    @Test
+    void testRoutesRequestsToTheirPool() throws Exception {
+        // Arrange
+        MockHttpServletRequest lookup = request("GET", "/products/{id}");
+        MockHttpServletRequest list = request("GET", "/products");
+
+        // Act & Assert
+        bulkheadInterceptor.preHandle(lookup, new MockHttpServletResponse(), null);
+        assertSame(pointConnection, routingDataSource.getConnection());
+        bulkheadInterceptor.afterCompletion(lookup, new MockHttpServletResponse(), null, null);
+
+        bulkheadInterceptor.preHandle(list, new MockHttpServletResponse(), null);
+        assertSame(bulkConnection, routingDataSource.getConnection());
+        bulkheadInterceptor.afterCompletion(list, new MockHttpServletResponse(), null, null);
+    }
+
+    /**
+     * Test case for work outside a request, such as schedulers and event listeners.
+     * Verifies that threads without a workload, and request threads after completion, use the bulk pool.
+     */
+    @Test
+    void testBackgroundWorkUsesBulkPool() throws Exception {
+        // Arrange
+        MockHttpServletRequest lookup = request("GET", "/products/{id}");
+        bulkheadInterceptor.preHandle(lookup, new MockHttpServletResponse(), null);
+        bulkheadInterceptor.afterCompletion(lookup, new MockHttpServletResponse(), null, null);
+
+        // Act
+        Connection background = CompletableFuture.supplyAsync(() -> {
+            try {
+                return routingDataSource.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+
+        // Assert
+        assertSame(bulkConnection, background);
+        assertSame(bulkConnection, routingDataSource.getConnection());
+        assertEquals(Workload.BULK, WorkloadContext.current());
+    }
+
+    /**
+     * Test case for a full bulkhead.
+     * Verifies that bulk requests are rejected once their slots are taken while point requests still get theirs.
+     */
+    @Test
+    void testBulkheadsAreIsolated() throws Exception {
+        // Arrange
+        bulkheadInterceptor.preHandle(request("GET", "/products"), new MockHttpServletResponse(), null);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () ->
+                bulkheadInterceptor.preHandle(request("GET", "/products"), new MockHttpServletResponse(), null));
+        assertTrue(bulkheadInterceptor.preHandle(request("GET", "/products/{id}"), new MockHttpServletResponse(), null));
+    }
+
+    private Workload workloadOf(String method, String pattern) throws Exception {
+        MockHttpServletRequest request = request(method, pattern);
+        bulkheadInterceptor.preHandle(request, new MockHttpServletResponse(), null);
+        Workload workload = WorkloadContext.current();
+        bulkheadInterceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+        return workload;
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,132 @@
+package com.dev.product;
+
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.service.ProductService;
+import com.dev.product.snapshot.CatalogFileSnapshotInterceptor;
+import com.dev.product.snapshot.CatalogFileSnapshotWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class CatalogFileSnapshotTest {
+
+    @Mock
+    private ProductService productService;
+
+    @TempDir
+    Path directory;
+
+    private CatalogFileSnapshotWriter writer;
+    private CatalogFileSnapshotInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        writer = new CatalogFileSnapshotWriter(productService, new ObjectMapper(), directory.toString());
+        interceptor = new CatalogFileSnapshotInterceptor(writer);
+    }
+
+    /**
+     * Test case for serving the full catalog from the snapshot file.
+     * Verifies that the interceptor returns the gzip-compressed catalog without calling the controller.
+     */
+    @Test
+    void testServesCompressedSnapshot() throws Exception {
+        // Arrange
+        when(productService.findAllProducts()).thenReturn(List.of(
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1")));
+        writer.refresh();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.addHeader("Accept-Encoding", "gzip, br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        // Assert
+        assertFalse(proceed);
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(body.contains("\"name\":\"Product 1\""));
+        }
+    }
+
+    /**
+     * Test case for a client that does not accept gzip.
+     * Verifies that the request is passed on to the controller.
+     */
+    @Test
+    void testSkipsClientsWithoutGzip() throws Exception {
+        // Arrange
+        when(productService.findAllProducts()).thenReturn(List.of());
+        writer.refresh();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        // Assert
+        assertTrue(proceed);
+        assertNull(response.getHeader("Content-Encoding"));
+    }
+
+    /**
+     * Test case for a client that refuses gzip with a zero quality value.
+     * Verifies that the request is passed on to the controller instead of being served compressed.
+     */
+    @Test
+    void testSkipsClientsRefusingGzip() throws Exception {
+        // Arrange
+        when(productService.findAllProducts()).thenReturn(List.of());
+        writer.refresh();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.addHeader("Accept-Encoding", "gzip;q=0, *;q=1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        // Assert
+        assertTrue(proceed);
+        assertNull(response.getHeader("Content-Encoding"));
+    }
+
+    /**
+     * Test case for restarting with snapshot files left by an earlier run.
+     * Verifies that they are removed at startup, so only the new generations remain.
+     */
+    @Test
+    void testRemovesFilesFromEarlierRuns() throws Exception {
+        // Arrange
+        Files.writeString(directory.resolve("catalog-41.json.gz"), "stale");
+        Files.writeString(directory.resolve("catalog-42.json.gz.tmp"), "stale");
+        when(productService.findAllProducts()).thenReturn(List.of());
+
+        // Act
+        writer.removeStaleFiles();
+        writer.refresh();
+
+        // Assert
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("catalog-1.json.gz"), files.map(file -> file.getFileName().toString()).toList());
+        }
+    }
+}
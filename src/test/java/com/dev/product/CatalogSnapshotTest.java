@@ -0,0 +1,189 @@
+package com.dev.product;
+
+import com.dev.product.catalog.CatalogSnapshot;
+import com.dev.product.catalog.ProductCatalog;
+import com.dev.product.dto.ProductFields;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    /**
+     * Test case for looking up products in a large snapshot.
+     * Verifies that every id is found and unknown ids are reported as absent.
+     */
+    @Test
+    void testFind() {
+        // Arrange
+        List<ProductEntity> products = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            products.add(new ProductEntity(id * 7, "Product " + id, "10.00", "Description " + id));
+        }
+
+        // Act
+        CatalogSnapshot snapshot = CatalogSnapshot.of(products);
+
+        // Assert
+        assertEquals(10_000, snapshot.size());
+        for (long id = 1; id <= 10_000; id++) {
+            assertEquals("Product " + id, snapshot.find(id * 7).orElseThrow().getName());
+        }
+        assertTrue(snapshot.find(3L).isEmpty());
+    }
+
+    /**
+     * Test case for applying incremental changes.
+     * Verifies that updates replace rows, inserts are appended, the watermark advances and the old snapshot is unchanged.
+     */
+    @Test
+    void testWithChanges() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1"),
+                new ProductEntity(2L, "Product 2", "20.00", "Description 2")));
+        ProductEntity updated = new ProductEntity(2L, "Updated Product", "25.00", "Updated Description");
+        updated.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        ProductEntity inserted = new ProductEntity(3L, "Product 3", "30.00", "Description 3");
+        inserted.setUpdatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+
+        // Act
+        CatalogSnapshot next = snapshot.withChanges(List.of(updated, inserted));
+
+        // Assert
+        assertEquals(3, next.size());
+        Optional<ProductEntity> product = next.find(2L);
+        assertEquals("Updated Product", product.orElseThrow().getName());
+        assertEquals("Product 3", next.find(3L).orElseThrow().getName());
+        assertEquals(Instant.parse("2024-01-02T00:00:00Z"), next.watermark());
+        assertEquals("Product 2", snapshot.find(2L).orElseThrow().getName());
+    }
+
+    /**
+     * Test case for removing deleted products.
+     * Verifies that deleted rows disappear, the remaining rows are still found and unknown ids are ignored.
+     */
+    @Test
+    void testWithoutIds() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1"),
+                new ProductEntity(2L, "Product 2", "20.00", "Description 2"),
+                new ProductEntity(3L, "Product 3", "30.00", "Description 3")));
+
+        // Act
+        CatalogSnapshot next = snapshot.withoutIds(List.of(2L, 2L, 99L));
+
+        // Assert
+        assertEquals(2, next.size());
+        assertTrue(next.find(2L).isEmpty());
+        assertEquals("Product 1", next.find(1L).orElseThrow().getName());
+        assertEquals("Product 3", next.find(3L).orElseThrow().getName());
+        assertEquals(3, snapshot.size());
+        assertSame(next, next.withoutIds(List.of(99L)));
+    }
+
+    /**
+     * Test case for changes committed on this node.
+     * Verifies that the catalog reflects a local update and delete before any refresh, without moving the watermark.
+     */
+    @Test
+    void testLocalChangesAreAppliedImmediately() {
+        // Arrange
+        ProductEntity loaded = new ProductEntity(1L, "Product 1", "10.00", "Description 1");
+        loaded.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        ProductCatalog catalog = new ProductCatalog();
+        ReflectionTestUtils.invokeMethod(catalog, "publish", CatalogSnapshot.of(List.of(loaded,
+                new ProductEntity(2L, "Product 2", "20.00", "Description 2"))));
+        ProductEntity updated = new ProductEntity(1L, "Updated Product", "15.00", "Description 1");
+        updated.setUpdatedAt(Instant.parse("2030-01-01T00:00:00Z"));
+
+        // Act
+        catalog.onProductChanged(new ProductChangedEvent(1L, loaded, updated));
+        catalog.onProductChanged(new ProductChangedEvent(2L, new ProductEntity(2L, "Product 2", "20.00", "Description 2"), null));
+
+        // Assert
+        CatalogSnapshot current = catalog.current();
+        assertEquals("Updated Product", current.find(1L).orElseThrow().getName());
+        assertTrue(current.find(2L).isEmpty());
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z"), current.watermark());
+    }
+
+    /**
+     * Test case for a local change committed while a refresh reads the table.
+     * Verifies that publishing the refresh, computed from the older snapshot, keeps the local change.
+     */
+    @Test
+    void testRefreshKeepsLocalChangesAppliedMeanwhile() {
+        // Arrange
+        ProductCatalog catalog = new ProductCatalog();
+        ReflectionTestUtils.invokeMethod(catalog, "publish", CatalogSnapshot.of(List.of(
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1"),
+                new ProductEntity(2L, "Product 2", "20.00", "Description 2"))));
+        CatalogSnapshot base = ReflectionTestUtils.invokeMethod(catalog, "beginRefresh");
+        catalog.onProductChanged(new ProductChangedEvent(1L, null,
+                new ProductEntity(1L, "Updated Product", "15.00", "Description 1")));
+        catalog.onProductChanged(new ProductChangedEvent(2L, null, null));
+        assertEquals("Updated Product", catalog.current().find(1L).orElseThrow().getName());
+
+        // Act
+        ReflectionTestUtils.invokeMethod(catalog, "publish", base.withChanges(List.of(
+                new ProductEntity(3L, "Product 3", "30.00", "Description 3"))));
+
+        // Assert
+        CatalogSnapshot current = catalog.current();
+        assertEquals("Updated Product", current.find(1L).orElseThrow().getName());
+        assertTrue(current.find(2L).isEmpty());
+        assertTrue(current.find(3L).isPresent());
+    }
+
+    /**
+     * Test case for projecting selected fields.
+     * Verifies that rows come back ordered by ID even when inserts arrive out of order, with unselected fields left null.
+     */
+    @Test
+    void testProjectOrdersById() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+                new ProductEntity(5L, "Product 5", "50.00", "Description 5"),
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1")));
+
+        // Act
+        List<ProductFields> rows = snapshot.withChanges(List.of(
+                new ProductEntity(3L, "Product 3", "30.00", "Description 3"))).project(List.of("price", "id"));
+
+        // Assert
+        assertEquals(List.of(
+                new ProductFields(1L, null, null, "10.00"),
+                new ProductFields(3L, null, null, "30.00"),
+                new ProductFields(5L, null, null, "50.00")), rows);
+        assertEquals("Product 5", snapshot.find(5L).orElseThrow().getName());
+    }
+
+    /**
+     * Test case for a snapshot built from a load that ran while the table changed.
+     * Verifies that the watermark is the given start of the load, not the newest row read.
+     */
+    @Test
+    void testOfWithLoadStart() {
+        // Arrange
+        Instant started = Instant.parse("2024-01-01T00:00:00Z");
+        ProductEntity product = new ProductEntity(1L, "Product 1", "10.00", "Description 1");
+        product.setUpdatedAt(started.plusSeconds(60));
+
+        // Act
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(product), started);
+
+        // Assert
+        assertEquals(started, snapshot.watermark());
+        assertEquals("Product 1", snapshot.find(1L).orElseThrow().getName());
+    }
+}
@@ -0,0 +1,125 @@
+package com.dev.product;
+
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.entity.ProductJobEntity;
+import com.dev.product.job.ExportJobHandler;
+import com.dev.product.job.ProductJobChunk;
+import com.dev.product.repository.ProductBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExportJobHandlerTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test case for resuming an export after a chunk that did not commit.
+     * Verifies that lines past the committed output size are discarded instead of being written twice.
+     */
+    @Test
+    void testResumeDiscardsUncommittedLines() throws Exception {
+        // Arrange
+        ProductBatchRepository repository = mock(ProductBatchRepository.class);
+        when(repository.findRange(0L, 2, false)).thenReturn(List.of(
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1"),
+                new ProductEntity(2L, "Product 2", "20.00", "Description 2")));
+        when(repository.findRange(2L, 2, false)).thenReturn(List.of(
+                new ProductEntity(3L, "Product 3", "30.00", "Description 3")));
+        ExportJobHandler handler = new ExportJobHandler(repository, new ObjectMapper(), directory.toString());
+        ProductJobEntity job = new ProductJobEntity();
+        job.setId(7L);
+        ProductJobChunk first = handler.processChunk(job, 2);
+        commit(job, first);
+        // This chunk is written but its checkpoint is never committed.
+        handler.processChunk(job, 2);
+
+        // Act
+        ProductJobChunk resumed = handler.processChunk(job, 2);
+
+        // Assert
+        List<String> lines = Files.readAllLines(Paths.get(resumed.output()));
+        assertEquals(first.output(), resumed.output());
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).contains("Product 3"));
+        assertEquals(Files.size(Paths.get(resumed.output())), resumed.outputSize());
+        assertEquals(3L, resumed.lastId());
+        assertEquals(3L, resumed.processed());
+    }
+
+    /**
+     * Test case for taking over an export on an instance that cannot see the file written so far.
+     * Verifies that the export starts over from the first product in a new file instead of leaving a hole.
+     */
+    @Test
+    void testTakeOverWithoutOutputStartsOver() throws Exception {
+        // Arrange
+        ProductBatchRepository repository = mock(ProductBatchRepository.class);
+        when(repository.findRange(0L, 2, false)).thenReturn(List.of(
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1"),
+                new ProductEntity(2L, "Product 2", "20.00", "Description 2")));
+        ExportJobHandler owner = new ExportJobHandler(repository, new ObjectMapper(), directory.resolve("a").toString());
+        ExportJobHandler takeOver = new ExportJobHandler(repository, new ObjectMapper(), directory.resolve("b").toString());
+        ProductJobEntity job = new ProductJobEntity();
+        job.setId(7L);
+        ProductJobChunk first = owner.processChunk(job, 2);
+        commit(job, first);
+        Files.delete(Paths.get(first.output()));
+
+        // Act
+        ProductJobChunk restarted = takeOver.processChunk(job, 2);
+
+        // Assert
+        assertNotEquals(first.output(), restarted.output());
+        assertEquals(2L, restarted.lastId());
+        assertEquals(2L, restarted.processed());
+        List<String> lines = Files.readAllLines(Paths.get(restarted.output()));
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("Product 1"));
+        verify(repository, times(2)).findRange(0L, 2, false);
+    }
+
+    /**
+     * Test case for taking over an export whose file is shorter than the committed output.
+     * Verifies that the export starts over instead of padding the file.
+     */
+    @Test
+    void testTruncatedOutputStartsOver() throws Exception {
+        // Arrange
+        ProductBatchRepository repository = mock(ProductBatchRepository.class);
+        when(repository.findRange(0L, 2, false)).thenReturn(List.of(
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1"),
+                new ProductEntity(2L, "Product 2", "20.00", "Description 2")));
+        ExportJobHandler handler = new ExportJobHandler(repository, new ObjectMapper(), directory.toString());
+        ProductJobEntity job = new ProductJobEntity();
+        job.setId(7L);
+        ProductJobChunk first = handler.processChunk(job, 2);
+        commit(job, first);
+        Files.write(Paths.get(first.output()), new byte[0]);
+
+        // Act
+        ProductJobChunk restarted = handler.processChunk(job, 2);
+
+        // Assert
+        assertEquals(first.outputSize(), restarted.outputSize());
+        assertEquals(2L, restarted.processed());
+        assertFalse(Files.exists(Paths.get(first.output())));
+        assertFalse(new String(Files.readAllBytes(Paths.get(restarted.output()))).contains("\0"));
+    }
+
+    private static void commit(ProductJobEntity job, ProductJobChunk chunk) {
+        job.setCheckpoint(chunk.lastId());
+        job.setProcessed(chunk.processed());
+        job.setOutputSize(chunk.outputSize());
+        job.setOutput(chunk.output());
+    }
+}
@@ -0,0 +1,260 @@
+package com.dev.product;
+
+import com.dev.product.entity.IdempotencyRecordEntity;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.exception.InvalidRequestException;
+import com.dev.product.idempotency.IdempotencyService;
+import com.dev.product.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    private static final String OPERATION = "POST /products";
+    private static final String KEY = OPERATION + " key-1";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyService idempotencyService;
+
+    /**
+     * Sets up the Mockito annotations and a service whose keys can always be claimed.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(idempotencyRecordRepository.claim(anyString(), anyString(), any())).thenReturn(1);
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, new ObjectMapper(),
+                Duration.ofHours(1), Duration.ofSeconds(30), 5000, 100);
+    }
+
+    /**
+     * Test case for retrying a request with the same key.
+     * Verifies that the action runs once and the retry receives the first response.
+     */
+    @Test
+    void testRetryReturnsFirstResponse() {
+        // Arrange
+        ProductEntity request = new ProductEntity(null, "Product 1", "10.00", "Description 1");
+        AtomicInteger saves = new AtomicInteger();
+
+        // Act
+        ProductEntity first = idempotencyService.execute(OPERATION, "key-1", request, ProductEntity.class,
+                () -> new ProductEntity((long) saves.incrementAndGet(), "Product 1", "10.00", "Description 1"));
+        ProductEntity retry = idempotencyService.execute(OPERATION, "key-1", request, ProductEntity.class,
+                () -> new ProductEntity((long) saves.incrementAndGet(), "Product 1", "10.00", "Description 1"));
+
+        // Assert
+        assertEquals(1, saves.get());
+        assertEquals(first.getId(), retry.getId());
+        verify(idempotencyRecordRepository, times(1)).complete(eq(KEY), anyString(), any());
+    }
+
+    /**
+     * Test case for a duplicate arriving while the first request is still running.
+     * Verifies that the duplicate waits for the first request instead of running the action again.
+     */
+    @Test
+    void testConcurrentDuplicateWaitsForFirst() throws Exception {
+        // Arrange
+        ProductEntity request = new ProductEntity(null, "Product 1", "10.00", "Description 1");
+        AtomicInteger saves = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ProductEntity> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(OPERATION, "key-1", request, ProductEntity.class, () -> {
+                    saves.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return new ProductEntity(7L, "Product 1", "10.00", "Description 1");
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<ProductEntity> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(OPERATION, "key-1", request, ProductEntity.class, () -> {
+                    saves.incrementAndGet();
+                    return new ProductEntity(8L, "Product 1", "10.00", "Description 1");
+                }));
+        release.countDown();
+
+        // Assert
+        assertEquals(7L, first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(7L, duplicate.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1, saves.get());
+    }
+
+    /**
+     * Test case for reusing a key for a different request.
+     * Verifies that the service throws an InvalidRequestException.
+     */
+    @Test
+    void testKeyReusedForDifferentRequest() {
+        // Arrange
+        idempotencyService.execute(OPERATION, "key-1", new ProductEntity(null, "Product 1", "10.00", "Description 1"),
+                ProductEntity.class, () -> new ProductEntity(1L, "Product 1", "10.00", "Description 1"));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> idempotencyService.execute(OPERATION, "key-1",
+                new ProductEntity(null, "Product 2", "20.00", "Description 2"),
+                ProductEntity.class, () -> new ProductEntity(2L, "Product 2", "20.00", "Description 2")));
+    }
+
+    /**
+     * Test case for a response that cannot be stored after the write succeeded.
+     * Verifies that the client still gets the response, the key is not released and the response is stored on retry.
+     */
+    @Test
+    void testCompleteFailureIsRetried() {
+        // Arrange
+        ProductEntity request = new ProductEntity(null, "Product 1", "10.00", "Description 1");
+        when(idempotencyRecordRepository.complete(eq(KEY), anyString(), any()))
+                .thenThrow(new IllegalStateException("Database unavailable"))
+                .thenReturn(1);
+
+        // Act
+        ProductEntity response = idempotencyService.execute(OPERATION, "key-1", request, ProductEntity.class,
+                () -> new ProductEntity(1L, "Product 1", "10.00", "Description 1"));
+        idempotencyService.retryPending();
+        idempotencyService.retryPending();
+
+        // Assert
+        assertEquals(1L, response.getId());
+        verify(idempotencyRecordRepository, never()).deleteById(anyString());
+        verify(idempotencyRecordRepository, times(2)).complete(eq(KEY), anyString(), any());
+    }
+
+    /**
+     * Test case for a failed action whose key cannot be released right away.
+     * Verifies that the action's error reaches the client and the key is released on retry.
+     */
+    @Test
+    void testReleaseFailureIsRetried() {
+        // Arrange
+        ProductEntity request = new ProductEntity(null, "Product 1", "10.00", "Description 1");
+        doThrow(new IllegalStateException("Database unavailable")).doNothing()
+                .when(idempotencyRecordRepository).deleteById(KEY);
+
+        // Act
+        assertThrows(InvalidRequestException.class, () -> idempotencyService.execute(OPERATION, "key-1", request,
+                ProductEntity.class, () -> {
+                    throw new InvalidRequestException("Invalid product");
+                }));
+        idempotencyService.retryPending();
+        idempotencyService.retryPending();
+
+        // Assert
+        verify(idempotencyRecordRepository, times(2)).deleteById(KEY);
+    }
+
+    /**
+     * Test case for the same key sent to two different operations.
+     * Verifies that each operation runs its own action instead of the second being rejected as a different request.
+     */
+    @Test
+    void testKeyIsScopedToOperation() {
+        // Arrange
+        idempotencyService.execute(OPERATION, "key-1", new ProductEntity(null, "Product 1", "10.00", "Description 1"),
+                ProductEntity.class, () -> new ProductEntity(1L, "Product 1", "10.00", "Description 1"));
+        AtomicInteger deletes = new AtomicInteger();
+
+        // Act
+        Long[] deleted = idempotencyService.execute("DELETE /products/batch", "key-1", List.of(1L), Long[].class,
+                () -> new Long[]{(long) deletes.incrementAndGet()});
+
+        // Assert
+        assertArrayEquals(new Long[]{1L}, deleted);
+        verify(idempotencyRecordRepository, times(1)).claim(eq("DELETE /products/batch key-1"), anyString(), any());
+    }
+
+    /**
+     * Test case for a key whose request failed on another instance while this one was waiting.
+     * Verifies that the released key is claimed again and the action runs here instead of the wait ending in a conflict.
+     */
+    @Test
+    void testReleasedKeyIsClaimedAgain() {
+        // Arrange
+        when(idempotencyRecordRepository.claim(eq(KEY), anyString(), any())).thenReturn(0, 1);
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.empty());
+
+        // Act
+        ProductEntity response = idempotencyService.execute(OPERATION, "key-1",
+                new ProductEntity(null, "Product 1", "10.00", "Description 1"), ProductEntity.class,
+                () -> new ProductEntity(1L, "Product 1", "10.00", "Description 1"));
+
+        // Assert
+        assertEquals(1L, response.getId());
+        verify(idempotencyRecordRepository, times(2)).claim(eq(KEY), anyString(), any());
+    }
+
+    /**
+     * Test case for a key claimed by an instance that stopped before storing its response.
+     * Verifies that the key is taken over once the lease has run out.
+     */
+    @Test
+    void testExpiredLeaseIsTakenOver() {
+        // Arrange
+        IdempotencyRecordEntity orphaned = new IdempotencyRecordEntity();
+        orphaned.setKey(KEY);
+        orphaned.setRequestHash("other");
+        orphaned.setExpiresAt(Instant.now().minusSeconds(1));
+        when(idempotencyRecordRepository.claim(eq(KEY), anyString(), any())).thenReturn(0, 1);
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(orphaned));
+
+        // Act
+        ProductEntity response = idempotencyService.execute(OPERATION, "key-1",
+                new ProductEntity(null, "Product 1", "10.00", "Description 1"), ProductEntity.class,
+                () -> new ProductEntity(1L, "Product 1", "10.00", "Description 1"));
+
+        // Assert
+        assertEquals(1L, response.getId());
+    }
+
+    /**
+     * Test case for a request that is still running when its lease is due.
+     * Verifies that the lease is renewed while the action runs and no longer once its response is stored.
+     */
+    @Test
+    void testLeaseIsRenewedWhileRunning() {
+        // Arrange
+        ProductEntity request = new ProductEntity(null, "Product 1", "10.00", "Description 1");
+
+        // Act
+        idempotencyService.execute(OPERATION, "key-1", request, ProductEntity.class, () -> {
+            idempotencyService.renewLeases();
+            return new ProductEntity(1L, "Product 1", "10.00", "Description 1");
+        });
+        idempotencyService.renewLeases();
+
+        // Assert
+        verify(idempotencyRecordRepository, times(1)).renew(eq(Set.of(KEY)), any());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
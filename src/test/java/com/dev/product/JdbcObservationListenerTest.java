@@ -0,0 +1,126 @@
+package com.dev.product;
+
+import com.dev.product.tracing.JdbcObservationListener;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JdbcObservationListenerTest {
+
+    private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+
+    private JdbcObservationListener jdbcObservationListener;
+
+    /**
+     * Sets up a listener on a registry that collects every stopped observation.
+     */
+    @BeforeEach
+    void setUp() {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+        });
+        jdbcObservationListener = new JdbcObservationListener(observationRegistry, mock(DataSource.class), 200, 0);
+    }
+
+    /**
+     * Shuts down the listener's background EXPLAIN thread.
+     */
+    @AfterEach
+    void tearDown() {
+        jdbcObservationListener.shutdown();
+    }
+
+    /**
+     * Test case for a statement executed through the proxied DataSource.
+     * Verifies that one query observation carrying the statement is recorded.
+     */
+    @Test
+    void testQueryIsObserved() {
+        // Arrange
+        List<QueryInfo> queries = List.of(new QueryInfo("SELECT * FROM products WHERE prod_id = ?"));
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(5);
+
+        // Act
+        jdbcObservationListener.beforeQuery(execution, queries);
+        jdbcObservationListener.afterQuery(execution, queries);
+
+        // Assert
+        assertEquals(1, stopped.size());
+        assertEquals("product.jdbc.query", stopped.get(0).getName());
+        assertEquals("SELECT * FROM products WHERE prod_id = ?",
+                stopped.get(0).getHighCardinalityKeyValue("db.statement").getValue());
+        assertNull(stopped.get(0).getError());
+    }
+
+    /**
+     * Test case for a statement that fails.
+     * Verifies that the query observation records the error.
+     */
+    @Test
+    void testFailedQueryRecordsError() {
+        // Arrange
+        List<QueryInfo> queries = List.of(new QueryInfo("DELETE FROM products"));
+        ExecutionInfo execution = new ExecutionInfo();
+        SQLException failure = new SQLException("Connection reset");
+        execution.setThrowable(failure);
+
+        // Act
+        jdbcObservationListener.beforeQuery(execution, queries);
+        jdbcObservationListener.afterQuery(execution, queries);
+
+        // Assert
+        assertEquals(1, stopped.size());
+        assertSame(failure, stopped.get(0).getError());
+    }
+
+    /**
+     * Test case for acquiring a connection from the pool.
+     * Verifies that a connection observation is recorded, and none for other DataSource calls.
+     */
+    @Test
+    void testConnectionAcquisitionIsObserved() throws Exception {
+        // Arrange
+        MethodExecutionContext getConnection = MethodExecutionContext.Builder.create()
+                .target(mock(DataSource.class))
+                .method(DataSource.class.getMethod("getConnection"))
+                .build();
+        MethodExecutionContext getLoginTimeout = MethodExecutionContext.Builder.create()
+                .target(mock(DataSource.class))
+                .method(DataSource.class.getMethod("getLoginTimeout"))
+                .build();
+
+        // Act
+        jdbcObservationListener.beforeMethod(getConnection);
+        jdbcObservationListener.afterMethod(getConnection);
+        jdbcObservationListener.beforeMethod(getLoginTimeout);
+        jdbcObservationListener.afterMethod(getLoginTimeout);
+
+        // Assert
+        assertEquals(1, stopped.size());
+        assertEquals("product.jdbc.connection", stopped.get(0).getName());
+    }
+}
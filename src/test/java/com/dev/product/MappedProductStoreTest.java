@@ -0,0 +1,215 @@
+package com.dev.product;
+
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import com.dev.product.store.MappedProductStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedProductStoreTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test case for reading products back after a restart.
+     * Verifies that a newly opened store serves the products written by the previous instance.
+     */
+    @Test
+    void testSurvivesRestart() throws Exception {
+        // Arrange
+        String file = directory.resolve("products.dat").toString();
+        MappedProductStore store = new MappedProductStore(true, file, 1 << 20);
+        store.open();
+        store.setConnected(true);
+        store.put(new ProductEntity(1L, "Product 1", "10.00", "Description 1"));
+        store.put(new ProductEntity(70_000L, "Product 2", "20.00", "Description 2"));
+        store.close();
+
+        // Act
+        MappedProductStore reopened = new MappedProductStore(true, file, 1 << 20);
+        reopened.open();
+        reopened.setConnected(true);
+        Optional<ProductEntity> first = reopened.find(1L);
+        Optional<ProductEntity> second = reopened.find(70_000L);
+
+        // Assert
+        assertEquals("Product 1", first.orElseThrow().getName());
+        assertEquals("10.00", first.orElseThrow().getPrice());
+        assertEquals("Description 2", second.orElseThrow().getDescription());
+        assertTrue(reopened.find(2L).isEmpty());
+        reopened.close();
+    }
+
+    /**
+     * Test case for keeping the store in sync with product changes.
+     * Verifies that updates overwrite the record and deletes remove it.
+     */
+    @Test
+    void testOnProductChanged() throws Exception {
+        // Arrange
+        MappedProductStore store = new MappedProductStore(true, directory.resolve("products.dat").toString(), 1 << 20);
+        store.open();
+        store.setConnected(true);
+        ProductEntity product = new ProductEntity(5L, "Product 5", "10.00", "Description 5");
+        ProductEntity updated = new ProductEntity(5L, "Updated Product", "15.00", "Updated Description");
+
+        // Act & Assert
+        store.onProductChanged(new ProductChangedEvent(5L, null, product));
+        assertEquals("Product 5", store.find(5L).orElseThrow().getName());
+
+        store.onProductChanged(new ProductChangedEvent(5L, product, updated));
+        assertEquals("Updated Product", store.find(5L).orElseThrow().getName());
+
+        store.onProductChanged(new ProductChangedEvent(5L, updated, null));
+        assertTrue(store.find(5L).isEmpty());
+        store.close();
+    }
+
+    /**
+     * Test case for a product whose description does not fit the fixed record width.
+     * Verifies that the product is not stored, so reads fall back to the database.
+     */
+    @Test
+    void testOversizedProductIsNotStored() throws Exception {
+        // Arrange
+        MappedProductStore store = new MappedProductStore(true, directory.resolve("products.dat").toString(), 1 << 20);
+        store.open();
+        store.setConnected(true);
+
+        // Act
+        store.put(new ProductEntity(1L, "Product 1", "10.00", "x".repeat(1000)));
+
+        // Assert
+        assertTrue(store.find(1L).isEmpty());
+        store.close();
+    }
+
+    /**
+     * Test case for a read-through that raced a delete.
+     * Verifies that a product read before it was deleted is not filled in again, even with a current generation.
+     */
+    @Test
+    void testFillDoesNotResurrectDeletedProduct() throws Exception {
+        // Arrange
+        MappedProductStore store = new MappedProductStore(true, directory.resolve("products.dat").toString(), 1 << 20);
+        store.open();
+        store.setConnected(true);
+        ProductEntity product = new ProductEntity(5L, "Product 5", "10.00", "Description 5");
+        store.put(product);
+        long generation = store.generation();
+
+        // Act
+        store.onProductChanged(new ProductChangedEvent(5L, product, null));
+        store.fill(product, generation);
+        store.fill(product, store.generation());
+
+        // Assert
+        assertTrue(store.find(5L).isEmpty());
+        store.close();
+    }
+
+    /**
+     * Test case for a read-through that raced an update.
+     * Verifies that a stale generation is rejected and that an older version never replaces a newer one.
+     */
+    @Test
+    void testFillDoesNotOverwriteNewerVersion() throws Exception {
+        // Arrange
+        MappedProductStore store = new MappedProductStore(true, directory.resolve("products.dat").toString(), 1 << 20);
+        store.open();
+        store.setConnected(true);
+        ProductEntity stale = new ProductEntity(5L, "Product 5", "10.00", "Description 5");
+        stale.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        ProductEntity updated = new ProductEntity(5L, "Updated Product", "15.00", "Description 5");
+        updated.setUpdatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+        long generation = store.generation();
+
+        // Act
+        store.onProductChanged(new ProductChangedEvent(5L, stale, updated));
+        store.fill(stale, generation);
+        store.fill(stale, store.generation());
+
+        // Assert
+        ProductEntity stored = store.find(5L).orElseThrow();
+        assertEquals("Updated Product", stored.getName());
+        assertEquals(Instant.parse("2024-01-02T00:00:00Z"), stored.getUpdatedAt());
+        store.close();
+    }
+
+    /**
+     * Test case for IDs outside the configured record range.
+     * Verifies that such products are not stored and that the file does not grow for them.
+     */
+    @Test
+    void testIdsBeyondMaxRecordsAreNotStored() throws Exception {
+        // Arrange
+        Path file = directory.resolve("products.dat");
+        MappedProductStore store = new MappedProductStore(true, file.toString(), 1000);
+        store.open();
+        store.setConnected(true);
+
+        // Act
+        store.put(new ProductEntity(5_000_000_000L, "Product", "10.00", "Description"));
+
+        // Assert
+        assertTrue(store.find(5_000_000_000L).isEmpty());
+        assertEquals(0, Files.size(file));
+        store.close();
+    }
+
+    /**
+     * Test case for a store whose invalidation channel is down.
+     * Verifies that nothing is served or filled in until the channel reconnects, while local writes are still applied.
+     */
+    @Test
+    void testNotServedWhileDisconnected() throws Exception {
+        // Arrange
+        MappedProductStore store = new MappedProductStore(true, directory.resolve("products.dat").toString(), 1 << 20);
+        store.open();
+        store.put(new ProductEntity(1L, "Product 1", "10.00", "Description 1"));
+
+        // Act
+        Optional<ProductEntity> disconnected = store.find(1L);
+        store.fill(new ProductEntity(2L, "Product 2", "20.00", "Description 2"), store.generation());
+        store.setConnected(true);
+
+        // Assert
+        assertTrue(disconnected.isEmpty());
+        assertEquals("Product 1", store.find(1L).orElseThrow().getName());
+        assertTrue(store.find(2L).isEmpty());
+        store.close();
+    }
+
+    /**
+     * Test case for the time up to which the store has seen every change.
+     * Verifies that it is unknown for a new store and survives a restart once recorded.
+     */
+    @Test
+    void testSyncedAtSurvivesRestart() throws Exception {
+        // Arrange
+        String file = directory.resolve("products.dat").toString();
+        Instant syncedAt = Instant.parse("2024-01-01T00:00:00.123456Z");
+        MappedProductStore store = new MappedProductStore(true, file, 1 << 20);
+        store.open();
+        Instant initial = store.syncedAt();
+        store.markSynced(syncedAt);
+        store.close();
+
+        // Act
+        MappedProductStore reopened = new MappedProductStore(true, file, 1 << 20);
+        reopened.open();
+
+        // Assert
+        assertNull(initial);
+        assertEquals(syncedAt, reopened.syncedAt());
+        reopened.close();
+    }
+}
@@ -0,0 +1,185 @@
+package com.dev.product;
+
+import com.dev.product.dto.ProductBatchResult;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import com.dev.product.exception.InvalidRequestException;
+import com.dev.product.idempotency.IdempotencyService;
+import com.dev.product.repository.ProductBatchRepository;
+import com.dev.product.service.impl.ProductBatchServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductBatchServiceTest {
+
+    @Mock
+    private ProductBatchRepository productBatchRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private ProductBatchServiceImpl productBatchService;
+
+    /**
+     * Sets up the mocks and runs transaction callbacks inline.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        productBatchService = new ProductBatchServiceImpl(productBatchRepository, transactionTemplate, eventPublisher,
+                idempotencyService, Validation.buildDefaultValidatorFactory().getValidator(), 3);
+    }
+
+    /**
+     * Test case for a batch update.
+     * Verifies that each item gets its own result in request order and that events are published for changed products only.
+     */
+    @Test
+    void testUpdateProducts() {
+        // Arrange
+        List<ProductEntity> products = Arrays.asList(
+                new ProductEntity(2L, null, "9.99", null),
+                new ProductEntity(1L, null, "19.99", null),
+                new ProductEntity(2L, null, "5.00", null));
+        when(productBatchRepository.lockAll(any())).thenReturn(List.of(
+                new ProductEntity(2L, "Product 2", "20.00", "Description 2")));
+        when(productBatchRepository.updateAll(any())).thenReturn(List.of(
+                new ProductEntity(2L, "Product 2", "9.99", "Description 2")));
+
+        // Act
+        List<ProductBatchResult> results = productBatchService.updateProducts(products);
+
+        // Assert
+        assertEquals(List.of(200, 404, 400), results.stream().map(ProductBatchResult::status).toList());
+        assertEquals("9.99", results.get(0).product().getPrice());
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals("20.00", event.getValue().before().getPrice());
+        assertEquals("9.99", event.getValue().after().getPrice());
+    }
+
+    /**
+     * Test case for a batch update with items violating the product constraints.
+     * Verifies that each violating item is rejected with its messages while the valid item is still applied.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateProductsRejectsInvalidItems() {
+        // Arrange
+        List<ProductEntity> products = Arrays.asList(
+                new ProductEntity(1L, " ", null, null),
+                new ProductEntity(2L, null, "-5", null),
+                new ProductEntity(3L, null, "10.00", "Description 3"));
+        when(productBatchRepository.updateAll(any())).thenReturn(List.of(
+                new ProductEntity(3L, "Product 3", "10.00", "Description 3")));
+
+        // Act
+        List<ProductBatchResult> results = productBatchService.updateProducts(products);
+
+        // Assert
+        assertEquals(List.of(400, 400, 200), results.stream().map(ProductBatchResult::status).toList());
+        assertEquals("Name is required", results.get(0).error());
+        assertEquals("Price must be positive", results.get(1).error());
+        ArgumentCaptor<List<ProductEntity>> applied = ArgumentCaptor.forClass(List.class);
+        verify(productBatchRepository, times(1)).updateAll(applied.capture());
+        assertEquals(List.of(3L), applied.getValue().stream().map(ProductEntity::getId).toList());
+    }
+
+    /**
+     * Test case for a batch update with a price that is not a number.
+     * Verifies that the item is rejected without touching the database.
+     */
+    @Test
+    void testUpdateProductsRejectsNonNumericPrice() {
+        // Arrange
+        List<ProductEntity> products = List.of(new ProductEntity(1L, null, "free", null));
+
+        // Act
+        List<ProductBatchResult> results = productBatchService.updateProducts(products);
+
+        // Assert
+        assertEquals(400, results.get(0).status());
+        assertEquals("Price must be positive", results.get(0).error());
+        verifyNoInteractions(productBatchRepository);
+    }
+
+    /**
+     * Test case for a batch delete.
+     * Verifies that deleted, missing and invalid items are reported separately in request order.
+     */
+    @Test
+    void testDeleteProducts() {
+        // Arrange
+        when(productBatchRepository.deleteAll(any())).thenReturn(List.of(
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1")));
+
+        // Act
+        List<ProductBatchResult> results = productBatchService.deleteProducts(Arrays.asList(1L, null, 3L));
+
+        // Assert
+        assertEquals(List.of(204, 400, 404), results.stream().map(ProductBatchResult::status).toList());
+        verify(productBatchRepository, times(1)).lockAll(any());
+        verify(eventPublisher, times(1)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    /**
+     * Test case for a batch exceeding the configured maximum.
+     * Verifies that the batch is rejected as a whole without touching the database.
+     */
+    @Test
+    void testBatchTooLarge() {
+        // Arrange
+        List<Long> ids = new ArrayList<>(List.of(1L, 2L, 3L, 4L));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productBatchService.deleteProducts(ids));
+        verifyNoInteractions(productBatchRepository);
+    }
+
+    /**
+     * Test case for a batch delete sent with an Idempotency-Key.
+     * Verifies that the batch runs through the idempotency service and its stored results are returned.
+     */
+    @Test
+    void testDeleteProductsWithIdempotencyKey() {
+        // Arrange
+        ProductBatchResult[] stored = {ProductBatchResult.deleted(1L)};
+        when(idempotencyService.execute(eq("DELETE /products/batch"), eq("key-1"), eq(List.of(1L)),
+                eq(ProductBatchResult[].class), any())).thenReturn(stored);
+
+        // Act
+        List<ProductBatchResult> results = productBatchService.deleteProducts(List.of(1L), "key-1");
+
+        // Assert
+        assertEquals(List.of(stored), results);
+        verifyNoInteractions(productBatchRepository);
+    }
+}
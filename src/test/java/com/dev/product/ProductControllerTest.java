@@ -1,6 +1,7 @@
 package com.dev.product;
 
 import com.dev.product.controller.ProductController;
+import com.dev.product.dto.ProductFields;
 import com.dev.product.entity.ProductEntity;
 import com.dev.product.exception.ResourceNotFoundException;
 import com.dev.product.service.ProductService;
@@ -55,6 +56,29 @@ class ProductControllerTest {
         verify(productService, times(1)).findAllProducts();
     }
 
+    /**
+     * Test case for finding selected fields of all products.
+     * Verifies that the controller returns the projected rows with HTTP status OK.
+     */
+    @Test
+    void testFindAllProductFields() {
+        // Arrange
+        List<String> fields = List.of("id", "name");
+        List<ProductFields> products = List.of(
+                new ProductFields(1L, "Product 1", null, null),
+                new ProductFields(2L, "Product 2", null, null)
+        );
+        when(productService.findAllProductFields(fields)).thenReturn(products);
+
+        // Act
+        ResponseEntity<List<ProductFields>> response = productController.findAllProductFields(fields);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(products, response.getBody());
+        verify(productService, times(1)).findAllProductFields(fields);
+    }
+
     /**
      * Test case for finding a product by ID when the ID exists.
      * Verifies that the controller returns the product with HTTP status FOUND.
@@ -111,6 +135,25 @@ class ProductControllerTest {
         verify(productService, times(1)).saveProduct(product);
     }
 
+    /**
+     * Test case for saving a new product with an Idempotency-Key header.
+     * Verifies that the controller passes the key to the service and returns the saved product.
+     */
+    @Test
+    void testSaveProduct_WithIdempotencyKey() {
+        // Arrange
+        ProductEntity product = new ProductEntity(null, "New Product", "30.00", "New Description");
+        when(productService.saveProduct(product, "key-1")).thenReturn(product);
+
+        // Act
+        ProductEntity savedProduct = productController.saveProduct(product, "key-1");
+
+        // Assert
+        assertEquals(product, savedProduct);
+        verify(productService, times(1)).saveProduct(product, "key-1");
+        verify(productService, never()).saveProduct(product);
+    }
+
     /**
      * Test case for updating a product when the ID exists.
      * Verifies that the controller returns the updated product with HTTP status OK.
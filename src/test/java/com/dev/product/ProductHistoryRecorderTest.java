@@ -0,0 +1,102 @@
+package com.dev.product;
+
+import com.dev.product.dto.ProductHistoryEntry;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import com.dev.product.history.ProductHistoryRecorder;
+import com.dev.product.repository.ProductHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ProductHistoryRecorderTest {
+
+    @Mock
+    private ProductHistoryRepository productHistoryRepository;
+
+    private ProductHistoryRecorder productHistoryRecorder;
+
+    /**
+     * Sets up the Mockito annotations and a recorder with a queue of two entries.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productHistoryRecorder = new ProductHistoryRecorder(productHistoryRepository, 2, 10, 10);
+    }
+
+    /**
+     * Test case for a batch the database rejects.
+     * Verifies that the same entries are written by the next flush instead of being lost.
+     */
+    @Test
+    void testFailedBatchIsRetried() {
+        // Arrange
+        List<Integer> attemptedSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            attemptedSizes.add(invocation.<List<?>>getArgument(0).size());
+            throw new IllegalStateException("Database unavailable");
+        }).doAnswer(invocation -> {
+            attemptedSizes.add(invocation.<List<?>>getArgument(0).size());
+            return null;
+        }).when(productHistoryRepository).insertAll(anyList());
+        productHistoryRecorder.onProductChanged(created(1L));
+        productHistoryRecorder.onProductChanged(created(2L));
+
+        // Act
+        productHistoryRecorder.flush();
+        productHistoryRecorder.flush();
+        productHistoryRecorder.flush();
+
+        // Assert
+        assertEquals(List.of(2, 2), attemptedSizes);
+    }
+
+    /**
+     * Test case for a full queue while the database is failing.
+     * Verifies that the writer is held back until the database recovers and that its change is then recorded.
+     */
+    @Test
+    void testFullQueueAppliesBackpressure() throws Exception {
+        // Arrange
+        AtomicBoolean available = new AtomicBoolean(false);
+        List<Long> recorded = new ArrayList<>();
+        doAnswer(invocation -> {
+            if (!available.get()) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            invocation.<List<ProductHistoryEntry>>getArgument(0).forEach(entry -> recorded.add(entry.productId()));
+            return null;
+        }).when(productHistoryRepository).insertAll(anyList());
+        for (long id = 1; id <= 4; id++) {
+            productHistoryRecorder.onProductChanged(created(id));
+        }
+
+        // Act
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> productHistoryRecorder.onProductChanged(created(5L)));
+        Thread.sleep(100);
+        boolean blocked = !writer.isDone();
+        available.set(true);
+        writer.get(5, TimeUnit.SECONDS);
+        productHistoryRecorder.flush();
+
+        // Assert
+        assertTrue(blocked);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), recorded);
+    }
+
+    private static ProductChangedEvent created(Long id) {
+        return new ProductChangedEvent(id, null, new ProductEntity(id, "Product " + id, "10.00", "Description " + id));
+    }
+}
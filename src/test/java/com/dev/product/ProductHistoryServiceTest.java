@@ -0,0 +1,86 @@
+package com.dev.product;
+
+import com.dev.product.dto.ProductHistoryEntry;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.exception.InvalidRequestException;
+import com.dev.product.repository.ProductHistoryRepository;
+import com.dev.product.service.impl.ProductHistoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ProductHistoryServiceTest {
+
+    @Mock
+    private ProductHistoryRepository productHistoryRepository;
+
+    @InjectMocks
+    private ProductHistoryServiceImpl productHistoryService;
+
+    /**
+     * Sets up the Mockito annotations before each test method.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Test case for reading a product as of a time when it existed.
+     * Verifies that the service returns the version recorded at that time.
+     */
+    @Test
+    void testFindByIdAsOf_ExistingVersion() {
+        // Arrange
+        Instant asOf = Instant.parse("2024-01-01T00:00:00Z");
+        ProductHistoryEntry entry = new ProductHistoryEntry(1L, asOf.minusSeconds(60), "UPDATE",
+                "Product 1", "Description 1", "10.00");
+        when(productHistoryRepository.findAsOf(1L, asOf)).thenReturn(Optional.of(entry));
+
+        // Act
+        Optional<ProductEntity> result = productHistoryService.findByIdAsOf(1L, asOf);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("10.00", result.get().getPrice());
+    }
+
+    /**
+     * Test case for reading a product as of a time after it was deleted.
+     * Verifies that the service returns an empty Optional.
+     */
+    @Test
+    void testFindByIdAsOf_Deleted() {
+        // Arrange
+        Instant asOf = Instant.parse("2024-01-01T00:00:00Z");
+        ProductHistoryEntry entry = new ProductHistoryEntry(1L, asOf.minusSeconds(60), "DELETE", null, null, null);
+        when(productHistoryRepository.findAsOf(1L, asOf)).thenReturn(Optional.of(entry));
+
+        // Act
+        Optional<ProductEntity> result = productHistoryService.findByIdAsOf(1L, asOf);
+
+        // Assert
+        assertFalse(result.isPresent());
+    }
+
+    /**
+     * Test case for requesting too many versions.
+     * Verifies that the service throws an InvalidRequestException without querying the repository.
+     */
+    @Test
+    void testGetHistory_InvalidLimit() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productHistoryService.getHistory(1L, 5000));
+        verify(productHistoryRepository, never()).findByProductId(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,149 @@
+package com.dev.product;
+
+import com.dev.product.cache.ProductInvalidationChannel;
+import com.dev.product.cache.ProductNearCache;
+import com.dev.product.dto.ProductTombstone;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import com.dev.product.repository.ProductRepository;
+import com.dev.product.repository.ProductTombstoneRepository;
+import com.dev.product.store.MappedProductStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductInvalidationChannelTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductTombstoneRepository productTombstoneRepository;
+
+    @Mock
+    private MappedProductStore productStore;
+
+    private ProductInvalidationChannel productInvalidationChannel;
+
+    /**
+     * Sets up a channel whose listener thread is not started.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productInvalidationChannel = new ProductInvalidationChannel(jdbcTemplate, new DataSourceProperties(),
+                productRepository, productTombstoneRepository, new ProductNearCache(true, 100, Duration.ofMinutes(1)),
+                productStore, 5000, 1000, Duration.ofHours(1).toMillis());
+    }
+
+    /**
+     * Test case for a burst of local changes.
+     * Verifies that they are announced in a single statement, with each product once.
+     */
+    @Test
+    void testChangesAreCoalesced() {
+        // Arrange
+        for (long id = 1; id <= 3; id++) {
+            productInvalidationChannel.onProductChanged(new ProductChangedEvent(id, null,
+                    new ProductEntity(id, "Product " + id, "10.00", "Description " + id)));
+        }
+        productInvalidationChannel.onProductChanged(new ProductChangedEvent(2L, null, null));
+
+        // Act
+        productInvalidationChannel.publishPending();
+        productInvalidationChannel.publishPending();
+
+        // Assert
+        ArgumentCaptor<String[]> payloads = ArgumentCaptor.forClass(String[].class);
+        verify(jdbcTemplate, times(1)).query(anyString(), any(ResultSetExtractor.class), eq("product_invalidation"),
+                payloads.capture());
+        assertArrayEquals(new String[]{"1,2,3"}, payloads.getValue());
+    }
+
+    /**
+     * Test case for a notification the database rejects.
+     * Verifies that the changes are announced by the next flush.
+     */
+    @Test
+    void testFailedNotificationIsRetried() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(null);
+        productInvalidationChannel.onProductChanged(new ProductChangedEvent(1L, null, null));
+
+        // Act
+        productInvalidationChannel.publishPending();
+        productInvalidationChannel.publishPending();
+
+        // Assert
+        ArgumentCaptor<String[]> payloads = ArgumentCaptor.forClass(String[].class);
+        verify(jdbcTemplate, times(2)).query(anyString(), any(ResultSetExtractor.class), eq("product_invalidation"),
+                payloads.capture());
+        assertArrayEquals(new String[]{"1"}, payloads.getAllValues().get(1));
+    }
+
+    /**
+     * Test case for reconnecting a store that was in sync shortly before.
+     * Verifies that only the products changed or deleted since then are dropped instead of clearing the store.
+     */
+    @Test
+    void testResyncInvalidatesChangesSinceLastSync() {
+        // Arrange
+        Instant now = Instant.parse("2024-01-01T12:00:00Z");
+        Instant syncedAt = now.minusSeconds(60);
+        when(productStore.syncedAt()).thenReturn(syncedAt);
+        when(productRepository.findByUpdatedAtAfter(syncedAt.minusSeconds(5)))
+                .thenReturn(List.of(new ProductEntity(1L, "Product 1", "10.00", "Description 1")));
+        when(productTombstoneRepository.findDeletedAfter(syncedAt.minusSeconds(5)))
+                .thenReturn(List.of(new ProductTombstone(2L, now.minusSeconds(30))));
+
+        // Act
+        ReflectionTestUtils.invokeMethod(productInvalidationChannel, "resync", now);
+
+        // Assert
+        verify(productStore, times(1)).invalidate(1L);
+        verify(productStore, times(1)).remove(2L);
+        verify(productStore, never()).clear();
+        verify(productStore, times(1)).markSynced(now);
+    }
+
+    /**
+     * Test case for reconnecting a store that was out of sync longer than tombstones are kept.
+     * Verifies that the store is cleared, since deletes from that time can no longer be read.
+     */
+    @Test
+    void testResyncClearsStoreOutOfSyncTooLong() {
+        // Arrange
+        Instant now = Instant.parse("2024-01-01T12:00:00Z");
+        when(productStore.syncedAt()).thenReturn(now.minus(Duration.ofHours(2)));
+
+        // Act
+        ReflectionTestUtils.invokeMethod(productInvalidationChannel, "resync", now);
+
+        // Assert
+        verify(productStore, times(1)).clear();
+        verifyNoInteractions(productRepository, productTombstoneRepository);
+        verify(productStore, times(1)).markSynced(now);
+    }
+}
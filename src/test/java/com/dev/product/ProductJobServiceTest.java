@@ -0,0 +1,166 @@
+package com.dev.product;
+
+import com.dev.product.dto.ProductJobRequest;
+import com.dev.product.dto.ProductJobResponse;
+import com.dev.product.entity.ProductJobEntity;
+import com.dev.product.exception.ConflictException;
+import com.dev.product.exception.InvalidRequestException;
+import com.dev.product.exception.ResourceNotFoundException;
+import com.dev.product.job.ProductJobRunner;
+import com.dev.product.job.ProductJobStatus;
+import com.dev.product.job.ProductJobType;
+import com.dev.product.job.RepriceJobHandler;
+import com.dev.product.repository.ProductJobRepository;
+import com.dev.product.service.impl.ProductJobServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductJobServiceTest {
+
+    @Mock
+    private ProductJobRepository productJobRepository;
+
+    @Mock
+    private ProductJobRunner productJobRunner;
+
+    @InjectMocks
+    private ProductJobServiceImpl productJobService;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Sets up the Mockito annotations before each test method.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productJobRunner.handler(ProductJobType.REPRICE)).thenReturn(new RepriceJobHandler(null));
+    }
+
+    /**
+     * Test case for submitting a job.
+     * Verifies that the job is persisted as queued and handed to the runner without counting the products on the request.
+     */
+    @Test
+    void testSubmitJob() {
+        // Arrange
+        when(productJobRepository.save(any(ProductJobEntity.class))).thenAnswer(invocation -> {
+            ProductJobEntity job = invocation.getArgument(0);
+            job.setId(1L);
+            return job;
+        });
+
+        // Act
+        ProductJobResponse response = productJobService.submitJob(new ProductJobRequest(ProductJobType.REPRICE, BigDecimal.TEN));
+
+        // Assert
+        assertEquals(1L, response.id());
+        assertEquals(ProductJobStatus.QUEUED, response.status());
+        assertNull(response.total());
+        assertEquals(0.0, response.progress());
+        verify(productJobRunner, times(1)).requestDispatch();
+        verify(productJobRunner, never()).dispatch();
+    }
+
+    /**
+     * Test case for submitting a reprice job without a percentage.
+     * Verifies that the request is rejected before a job is created.
+     */
+    @Test
+    void testSubmitJob_MissingPercent() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> productJobService.submitJob(new ProductJobRequest(ProductJobType.REPRICE, null)));
+        verify(productJobRepository, never()).save(any());
+    }
+
+    /**
+     * Test case for cancelling a job that has already finished.
+     * Verifies that the service reports a conflict.
+     */
+    @Test
+    void testCancelJob_Finished() {
+        // Arrange
+        ProductJobEntity job = new ProductJobEntity();
+        job.setId(1L);
+        job.setStatus(ProductJobStatus.SUCCEEDED);
+        when(productJobRepository.cancelQueued(eq(1L), any(), any(), any())).thenReturn(0);
+        when(productJobRepository.requestCancel(eq(1L), any(), any())).thenReturn(0);
+        when(productJobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> productJobService.cancelJob(1L));
+    }
+
+    /**
+     * Test case for downloading the output of a finished export.
+     * Verifies that the output file is returned and the job links to it.
+     */
+    @Test
+    void testFindJobOutput() throws Exception {
+        // Arrange
+        Path output = Files.writeString(directory.resolve("products-1.jsonl"), "{}\n");
+        ProductJobEntity job = exportJob(ProductJobStatus.SUCCEEDED, output.toString());
+        when(productJobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+        // Act
+        Path result = productJobService.findJobOutput(1L);
+
+        // Assert
+        assertEquals(output, result);
+        assertEquals("/products/jobs/1/output", productJobService.findJobById(1L).orElseThrow().output());
+    }
+
+    /**
+     * Test case for downloading the output of an export that is still running.
+     * Verifies that the service reports a conflict and the job does not link to an output yet.
+     */
+    @Test
+    void testFindJobOutput_Running() {
+        // Arrange
+        ProductJobEntity job = exportJob(ProductJobStatus.RUNNING, directory.resolve("products-1.jsonl").toString());
+        when(productJobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> productJobService.findJobOutput(1L));
+        assertNull(productJobService.findJobById(1L).orElseThrow().output());
+    }
+
+    /**
+     * Test case for downloading an output that was written on another instance.
+     * Verifies that the service reports it as not found.
+     */
+    @Test
+    void testFindJobOutput_NotOnThisInstance() {
+        // Arrange
+        ProductJobEntity job = exportJob(ProductJobStatus.SUCCEEDED, directory.resolve("missing.jsonl").toString());
+        when(productJobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> productJobService.findJobOutput(1L));
+    }
+
+    private static ProductJobEntity exportJob(ProductJobStatus status, String output) {
+        ProductJobEntity job = new ProductJobEntity();
+        job.setId(1L);
+        job.setType(ProductJobType.EXPORT);
+        job.setStatus(status);
+        job.setOutput(output);
+        return job;
+    }
+}
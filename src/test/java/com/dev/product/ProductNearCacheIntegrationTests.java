@@ -0,0 +1,175 @@
+package com.dev.product;
+
+import com.dev.product.cache.ProductNearCache;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.repository.ProductRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two instances against the same database to check that their near-caches stay coherent.
+ */
+class ProductNearCacheIntegrationTests {
+
+    /**
+     * The longest a node may keep serving a product after another node changed it.
+     */
+    private static final Duration STALENESS_BOUND = Duration.ofSeconds(2);
+
+    /**
+     * The longest a node may take to notice a lost listener connection, reconnect and flush.
+     */
+    private static final Duration RECONNECT_BOUND = Duration.ofSeconds(10);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private final RestTemplate restTemplate = new RestTemplate(new JdkClientHttpRequestFactory());
+
+    /**
+     * Starts both instances and waits until both are listening for invalidations.
+     */
+    @BeforeAll
+    static void startNodes() throws InterruptedException {
+        nodeA = startNode();
+        nodeB = startNode();
+        awaitConnected(nodeA, RECONNECT_BOUND);
+        awaitConnected(nodeB, RECONNECT_BOUND);
+    }
+
+    /**
+     * Stops both instances.
+     */
+    @AfterAll
+    static void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    /**
+     * Test case for an update made on another node.
+     * Verifies that a node which cached the product serves the new version within the staleness bound.
+     */
+    @Test
+    void testUpdateOnOtherNodeIsVisibleWithinBound() throws Exception {
+        // Arrange
+        ProductEntity product = nodeA.getBean(ProductRepository.class)
+                .save(new ProductEntity(null, "Product 1", "10.00", "Description 1"));
+        assertEquals("Product 1", get(nodeA, product.getId()).getName());
+        assertTrue(nodeA.getBean(ProductNearCache.class).find(product.getId()).isPresent());
+
+        // Act
+        restTemplate.patchForObject(url(nodeB, "/products/{id}"),
+                new ProductEntity(null, "Updated Product", null, null), ProductEntity.class, product.getId());
+        long staleMillis = awaitOnNode(nodeA, product.getId(), found -> found != null && "Updated Product".equals(found.getName()));
+
+        // Assert
+        assertTrue(staleMillis <= STALENESS_BOUND.toMillis(), "Node A served the old product for " + staleMillis + " ms");
+    }
+
+    /**
+     * Test case for a delete made on another node.
+     * Verifies that a node which cached the product stops serving it within the staleness bound.
+     */
+    @Test
+    void testDeleteOnOtherNodeIsVisibleWithinBound() throws Exception {
+        // Arrange
+        ProductEntity product = nodeA.getBean(ProductRepository.class)
+                .save(new ProductEntity(null, "Product 2", "20.00", "Description 2"));
+        assertNotNull(get(nodeB, product.getId()));
+
+        // Act
+        restTemplate.delete(url(nodeA, "/products/{id}"), product.getId());
+        long staleMillis = awaitOnNode(nodeB, product.getId(), found -> found == null);
+
+        // Assert
+        assertTrue(staleMillis <= STALENESS_BOUND.toMillis(), "Node B served the deleted product for " + staleMillis + " ms");
+    }
+
+    /**
+     * Test case for a change missed while the listener was disconnected.
+     * Verifies that a node flushes its cache when it reconnects, so the change becomes visible without a notification.
+     */
+    @Test
+    void testReconnectFlushesCache() throws Exception {
+        // Arrange
+        ProductRepository productRepository = nodeA.getBean(ProductRepository.class);
+        ProductEntity product = productRepository.save(new ProductEntity(null, "Product 3", "30.00", "Description 3"));
+        assertEquals("Product 3", get(nodeA, product.getId()).getName());
+
+        // Act
+        nodeA.getBean(JdbcTemplate.class).queryForList(
+                "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = 'product-invalidation'");
+        // Saved through the repository, so no notification is ever sent for this change.
+        product.setName("Changed While Disconnected");
+        productRepository.save(product);
+        awaitConnected(nodeA, RECONNECT_BOUND);
+        awaitConnected(nodeB, RECONNECT_BOUND);
+
+        // Assert
+        assertEquals("Changed While Disconnected", get(nodeA, product.getId()).getName());
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(ProductApplication.class)
+                .properties("server.port=0",
+                        "product.cache.enabled=true",
+                        "product.cache.heartbeat-interval-ms=500",
+                        "product.cache.reconnect-delay-ms=200")
+                .run();
+    }
+
+    private static void awaitConnected(ConfigurableApplicationContext node, Duration timeout) throws InterruptedException {
+        ProductNearCache cache = node.getBean(ProductNearCache.class);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        // A terminated connection is only noticed on the next heartbeat, so wait for the drop before waiting for the reconnect.
+        Thread.sleep(1000);
+        while (!cache.isConnected()) {
+            assertTrue(System.nanoTime() < deadline, "Node did not start listening for invalidations");
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * Polls a node until the product it serves matches the condition and returns how long that took.
+     */
+    private long awaitOnNode(ConfigurableApplicationContext node, Long id, Predicate<ProductEntity> condition) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + STALENESS_BOUND.toNanos() * 5;
+        while (!condition.test(get(node, id))) {
+            assertTrue(System.nanoTime() < deadline, "Node never converged");
+            Thread.sleep(10);
+        }
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+
+    private ProductEntity get(ConfigurableApplicationContext node, Long id) {
+        try {
+            ResponseEntity<ProductEntity> response = restTemplate.getForEntity(url(node, "/products/{id}"), ProductEntity.class, id);
+            assertEquals(HttpStatus.FOUND, response.getStatusCode());
+            return response.getBody();
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+    }
+
+    private static String url(ConfigurableApplicationContext node, String path) {
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        return "http://localhost:" + port + path;
+    }
+}
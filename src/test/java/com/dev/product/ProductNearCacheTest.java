@@ -0,0 +1,117 @@
+package com.dev.product;
+
+import com.dev.product.cache.ProductNearCache;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductNearCacheTest {
+
+    /**
+     * Test case for serving cached products.
+     * Verifies that a cached product is returned as a copy, so callers cannot modify the cached entry.
+     */
+    @Test
+    void testFindReturnsCopy() {
+        // Arrange
+        ProductNearCache cache = new ProductNearCache(true, 100, Duration.ofMinutes(1));
+        cache.setConnected(true);
+        cache.put(new ProductEntity(1L, "Product 1", "10.00", "Description 1"), cache.generation());
+
+        // Act
+        cache.find(1L).orElseThrow().setName("Changed");
+
+        // Assert
+        assertEquals("Product 1", cache.find(1L).orElseThrow().getName());
+    }
+
+    /**
+     * Test case for a lookup that raced with an invalidation.
+     * Verifies that a product loaded before an invalidation is not cached.
+     */
+    @Test
+    void testPutAfterInvalidationIsDiscarded() {
+        // Arrange
+        ProductNearCache cache = new ProductNearCache(true, 100, Duration.ofMinutes(1));
+        cache.setConnected(true);
+        long generation = cache.generation();
+        cache.onProductChanged(new ProductChangedEvent(1L, null, null));
+
+        // Act
+        cache.put(new ProductEntity(1L, "Product 1", "10.00", "Description 1"), generation);
+
+        // Assert
+        assertTrue(cache.find(1L).isEmpty());
+    }
+
+    /**
+     * Test case for losing the invalidation channel.
+     * Verifies that a disconnected cache neither serves nor accepts products, and starts empty after reconnecting.
+     */
+    @Test
+    void testDisconnectedCacheIsBypassed() {
+        // Arrange
+        ProductNearCache cache = new ProductNearCache(true, 100, Duration.ofMinutes(1));
+        cache.setConnected(true);
+        cache.put(new ProductEntity(1L, "Product 1", "10.00", "Description 1"), cache.generation());
+
+        // Act
+        cache.setConnected(false);
+        cache.put(new ProductEntity(2L, "Product 2", "20.00", "Description 2"), cache.generation());
+        boolean servedWhileDisconnected = cache.find(1L).isPresent() || cache.find(2L).isPresent();
+        cache.setConnected(true);
+
+        // Assert
+        assertFalse(servedWhileDisconnected);
+        assertTrue(cache.find(1L).isEmpty());
+        assertTrue(cache.find(2L).isEmpty());
+    }
+
+    /**
+     * Test case for a full cache.
+     * Verifies that new products are still cached and the least recently used product makes room for them.
+     */
+    @Test
+    void testFullCacheEvictsLeastRecentlyUsed() {
+        // Arrange
+        ProductNearCache cache = new ProductNearCache(true, 2, Duration.ofMinutes(1));
+        cache.setConnected(true);
+        cache.put(new ProductEntity(1L, "Product 1", "10.00", "Description 1"), cache.generation());
+        cache.put(new ProductEntity(2L, "Product 2", "20.00", "Description 2"), cache.generation());
+        cache.find(1L);
+
+        // Act
+        cache.put(new ProductEntity(3L, "Product 3", "30.00", "Description 3"), cache.generation());
+
+        // Assert
+        assertTrue(cache.find(1L).isPresent());
+        assertTrue(cache.find(2L).isEmpty());
+        assertTrue(cache.find(3L).isPresent());
+    }
+
+    /**
+     * Test case for products that expire without being looked up again.
+     * Verifies that the sweep removes them, so they do not take up space in the cache.
+     */
+    @Test
+    void testSweepRemovesExpiredEntries() throws Exception {
+        // Arrange
+        ProductNearCache cache = new ProductNearCache(true, 100, Duration.ofMillis(1));
+        cache.setConnected(true);
+        cache.put(new ProductEntity(1L, "Product 1", "10.00", "Description 1"), cache.generation());
+        cache.put(new ProductEntity(2L, "Product 2", "20.00", "Description 2"), cache.generation());
+        Thread.sleep(5);
+
+        // Act
+        cache.evictExpired();
+
+        // Assert
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(cache, "entries")).isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package com.dev.product;
+
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.service.ProductScanService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the speedup of the parallel table scan over a single range as workers are added.
+ * Each product goes through a CPU-bound hashing step, so the measurement is not dominated by the database.
+ * Run with ./mvnw test -Dtest=ProductScanBenchmarkTests -Dbenchmark=true against a database (docker compose up -d).
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductScanBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductScanBenchmarkTests.class);
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 200_000);
+    private static final int HASH_ROUNDS = Integer.getInteger("benchmark.hash-rounds", 50);
+    private static final int RUNS = 3;
+
+    @Autowired
+    private ProductScanService productScanService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Sizes the bulk pool to the core count, so the pool does not cap the measured parallelism.
+     */
+    @DynamicPropertySource
+    static void bulkPoolSize(DynamicPropertyRegistry registry) {
+        registry.add("product.datasource.bulk.hikari.maximum-pool-size", () -> CORES);
+    }
+
+    /**
+     * Benchmark for scanning the table with 1, 2, 4, ... workers up to the core count.
+     * Logs the best time of each parallelism with its speedup and efficiency, and checks every run sees the same products.
+     */
+    @Test
+    void benchmarkScanSpeedup() {
+        // Arrange
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM products", Long.class);
+        if (existing < PRODUCTS) {
+            jdbcTemplate.update("INSERT INTO products (name, description, price, updated_at) "
+                    + "SELECT 'Product ' || g, 'Description ' || g, (g % 1000) || '.99', now() "
+                    + "FROM generate_series(1, ?) AS g", PRODUCTS - existing);
+        }
+        List<Integer> parallelisms = new ArrayList<>();
+        for (int parallelism = 1; parallelism < CORES; parallelism *= 2) {
+            parallelisms.add(parallelism);
+        }
+        parallelisms.add(CORES);
+        productScanService.scan(validation(), CORES);
+
+        // Act
+        long[] checksums = new long[parallelisms.size()];
+        long[] bestMillis = new long[parallelisms.size()];
+        for (int i = 0; i < parallelisms.size(); i++) {
+            bestMillis[i] = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                checksums[i] = productScanService.scan(validation(), parallelisms.get(i));
+                bestMillis[i] = Math.min(bestMillis[i], (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+
+        // Assert
+        StringBuilder report = new StringBuilder(String.format("Scan of %d products on %d cores%n",
+                Math.max(existing, PRODUCTS), CORES));
+        report.append(String.format("%11s %9s %8s %10s%n", "parallelism", "best ms", "speedup", "efficiency"));
+        for (int i = 0; i < parallelisms.size(); i++) {
+            double speedup = (double) bestMillis[0] / bestMillis[i];
+            report.append(String.format("%11d %9d %8.2f %9.0f%%%n", parallelisms.get(i), bestMillis[i], speedup,
+                    100 * speedup / parallelisms.get(i)));
+            assertEquals(checksums[0], checksums[i]);
+        }
+        log.info("{}", report);
+    }
+
+    /**
+     * Hashes every product a number of times and sums the first bytes of the digests, independent of scan order.
+     */
+    private static Collector<ProductEntity, long[], Long> validation() {
+        return Collector.of(
+                () -> new long[1],
+                (sum, product) -> sum[0] += hash(product),
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                },
+                sum -> sum[0]);
+    }
+
+    private static long hash(ProductEntity product) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] value = (product.getId() + product.getName() + product.getPrice() + product.getDescription())
+                    .getBytes(StandardCharsets.UTF_8);
+            for (int round = 0; round < HASH_ROUNDS; round++) {
+                value = digest.digest(value);
+            }
+            return value[0];
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.dev.product;
+
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.service.impl.ProductScanServiceImpl;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProductScanServiceTest {
+
+    /**
+     * The ranges read by the scan under test, as [from, to) pairs.
+     */
+    private final List<long[]> ranges = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Test case for scanning an empty table.
+     * Verifies that the collector's empty result is returned without reading any range.
+     */
+    @Test
+    void testScanEmptyTable() throws Exception {
+        // Arrange
+        ProductScanServiceImpl productScanService = scanService(List.of());
+
+        // Act
+        List<ProductEntity> products = productScanService.scan(Collectors.toList(), 4);
+
+        // Assert
+        assertTrue(products.isEmpty());
+        assertTrue(ranges.isEmpty());
+    }
+
+    /**
+     * Test case for scanning a table with large gaps between IDs.
+     * Verifies that every product is delivered once, in prod_id order, with its fields.
+     */
+    @Test
+    void testScanSparseIds() throws Exception {
+        // Arrange
+        List<Long> ids = List.of(3L, 4L, 1_000L, 70_000L, 5_000_000L, 5_000_001L, 900_000_000L);
+        ProductScanServiceImpl productScanService = scanService(ids);
+
+        // Act
+        List<ProductEntity> products = productScanService.scan(Collectors.toList(), 4);
+
+        // Assert
+        assertEquals(ids, products.stream().map(ProductEntity::getId).toList());
+        assertEquals("Product 70000", products.get(3).getName());
+        assertEquals("70000.00", products.get(3).getPrice());
+    }
+
+    /**
+     * Test case for a table split into many ranges.
+     * Verifies that the ranges tile the ID span without gaps or overlaps, so no product is read twice or skipped.
+     */
+    @Test
+    void testScanDeliversEachProductOnceAcrossRanges() throws Exception {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+        ProductScanServiceImpl productScanService = scanService(ids);
+
+        // Act
+        List<ProductEntity> products = productScanService.scan(Collectors.toList(), 3);
+
+        // Assert
+        assertEquals(ids, products.stream().map(ProductEntity::getId).toList());
+        assertTrue(ranges.size() > 3);
+        List<long[]> sorted = new ArrayList<>(ranges);
+        sorted.sort((left, right) -> Long.compare(left[0], right[0]));
+        assertEquals(1L, sorted.get(0)[0]);
+        for (int i = 1; i < sorted.size(); i++) {
+            assertEquals(sorted.get(i - 1)[1], sorted.get(i)[0]);
+        }
+        assertEquals(102L, sorted.get(sorted.size() - 1)[1]);
+    }
+
+    /**
+     * Creates a scan service over a mocked DataSource holding products with the given sorted IDs.
+     * Range queries return the products within their bounds, and every range read is recorded.
+     */
+    private ProductScanServiceImpl scanService(List<Long> ids) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> connection(ids));
+        HikariDataSource bulkDataSource = mock(HikariDataSource.class);
+        when(bulkDataSource.getMaximumPoolSize()).thenReturn(8);
+        return new ProductScanServiceImpl(dataSource, bulkDataSource, 4, 10);
+    }
+
+    private Connection connection(List<Long> ids) throws SQLException {
+        Connection connection = mock(Connection.class);
+
+        Statement bounds = mock(Statement.class);
+        ResultSet boundsResult = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(bounds);
+        when(bounds.executeQuery(anyString())).thenReturn(boundsResult);
+        when(boundsResult.next()).thenReturn(true, false);
+        when(boundsResult.getLong(1)).thenReturn(ids.isEmpty() ? 0 : ids.get(0));
+        when(boundsResult.getLong(2)).thenReturn(ids.isEmpty() ? 0 : ids.get(ids.size() - 1));
+        when(boundsResult.wasNull()).thenReturn(ids.isEmpty());
+
+        PreparedStatement range = mock(PreparedStatement.class);
+        long[] bound = new long[2];
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(range);
+        doAnswer(invocation -> {
+            bound[invocation.<Integer>getArgument(0) - 1] = invocation.getArgument(1);
+            return null;
+        }).when(range).setLong(anyInt(), anyLong());
+        when(range.executeQuery()).thenAnswer(invocation -> {
+            ranges.add(bound.clone());
+            return rows(ids.stream().filter(id -> id >= bound[0] && id < bound[1]).toList());
+        });
+        return connection;
+    }
+
+    private static ResultSet rows(List<Long> ids) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        Iterator<Long> iterator = ids.iterator();
+        long[] current = new long[1];
+        when(resultSet.next()).thenAnswer(invocation -> {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            current[0] = iterator.next();
+            return true;
+        });
+        when(resultSet.getLong("prod_id")).thenAnswer(invocation -> current[0]);
+        when(resultSet.getString("name")).thenAnswer(invocation -> "Product " + current[0]);
+        when(resultSet.getString("price")).thenAnswer(invocation -> current[0] + ".00");
+        when(resultSet.getString("description")).thenAnswer(invocation -> "Description " + current[0]);
+        return resultSet;
+    }
+}
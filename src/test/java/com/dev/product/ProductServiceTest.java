@@ -1,14 +1,22 @@
 package com.dev.product;
 
+import com.dev.product.cache.ProductNearCache;
+import com.dev.product.catalog.CatalogSnapshot;
+import com.dev.product.catalog.ProductCatalog;
+import com.dev.product.dto.ProductFields;
 import com.dev.product.entity.ProductEntity;
+import com.dev.product.exception.InvalidRequestException;
 import com.dev.product.exception.ResourceNotFoundException;
+import com.dev.product.idempotency.IdempotencyService;
 import com.dev.product.repository.ProductRepository;
 import com.dev.product.service.impl.ProductServiceImpl;
+import com.dev.product.store.MappedProductStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +24,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ProductServiceTest {
@@ -23,6 +32,21 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private ProductNearCache nearCache;
+
+    @Mock
+    private MappedProductStore productStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -55,6 +79,35 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findAll();
     }
 
+    /**
+     * Test case for finding selected fields of all products.
+     * Verifies that the service passes the trimmed, de-duplicated field list to the repository.
+     */
+    @Test
+    void testFindAllProductFields() {
+        // Arrange
+        List<ProductFields> rows = List.of(new ProductFields(1L, null, null, "10.00"));
+        when(productRepository.findAllFields(List.of("id", "price"))).thenReturn(rows);
+
+        // Act
+        List<ProductFields> result = productService.findAllProductFields(List.of("id", " price", "id"));
+
+        // Assert
+        assertEquals(rows, result);
+        verify(productRepository, times(1)).findAllFields(List.of("id", "price"));
+    }
+
+    /**
+     * Test case for requesting an unknown field.
+     * Verifies that the service throws an InvalidRequestException without querying the repository.
+     */
+    @Test
+    void testFindAllProductFields_UnknownField() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productService.findAllProductFields(List.of("id", "updatedAt")));
+        verify(productRepository, never()).findAllFields(any());
+    }
+
     /**
      * Test case for finding a product by ID when the ID exists.
      * Verifies that the service returns the product with the specified ID.
@@ -93,6 +146,67 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById(productId);
     }
 
+    /**
+     * Test case for finding a product by ID when the in-memory catalog is loaded.
+     * Verifies that the service answers from the catalog without querying the repository.
+     */
+    @Test
+    void testFindById_FromCatalog() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1")));
+        when(productCatalog.current()).thenReturn(snapshot);
+
+        // Act
+        Optional<ProductEntity> result = productService.findById(1L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("Product 1", result.get().getName());
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    /**
+     * Test case for finding a product by ID when it is in the near-cache.
+     * Verifies that the service answers from the cache without querying the store or the repository.
+     */
+    @Test
+    void testFindById_FromNearCache() {
+        // Arrange
+        ProductEntity product = new ProductEntity(1L, "Product 1", "10.00", "Description 1");
+        when(nearCache.find(1L)).thenReturn(Optional.of(product));
+
+        // Act
+        Optional<ProductEntity> result = productService.findById(1L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("Product 1", result.get().getName());
+        verify(productStore, never()).find(anyLong());
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    /**
+     * Test case for filling the near-cache and the store on a miss.
+     * Verifies that the product read from the repository is cached with the generations read before the lookup.
+     */
+    @Test
+    void testFindById_FillsNearCache() {
+        // Arrange
+        ProductEntity product = new ProductEntity(1L, "Product 1", "10.00", "Description 1");
+        when(nearCache.find(1L)).thenReturn(Optional.empty());
+        when(nearCache.generation()).thenReturn(7L);
+        when(productStore.generation()).thenReturn(3L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        // Act
+        productService.findById(1L);
+
+        // Assert
+        verify(nearCache, times(1)).put(product, 7L);
+        verify(productStore, times(1)).fill(product, 3L);
+    }
+
     /**
      * Test case for saving a new product.
      * Verifies that the service saves the product using the repository and returns the saved product.
@@ -111,6 +225,25 @@ class ProductServiceTest {
         verify(productRepository, times(1)).save(product);
     }
 
+    /**
+     * Test case for saving a new product with an idempotency key.
+     * Verifies that the save is run through the idempotency service under the given key.
+     */
+    @Test
+    void testSaveProduct_WithIdempotencyKey() {
+        // Arrange
+        ProductEntity product = new ProductEntity(null, "New Product", "30.00", "New Description");
+        ProductEntity savedProduct = new ProductEntity(1L, "New Product", "30.00", "New Description");
+        when(idempotencyService.execute(eq("POST /products"), eq("key-1"), eq(product), eq(ProductEntity.class), any())).thenReturn(savedProduct);
+
+        // Act
+        ProductEntity result = productService.saveProduct(product, "key-1");
+
+        // Assert
+        assertEquals(savedProduct, result);
+        verify(idempotencyService, times(1)).execute(eq("POST /products"), eq("key-1"), eq(product), eq(ProductEntity.class), any());
+    }
+
     /**
      * Test case for updating an existing product.
      * Verifies that the service updates the product using the repository and returns the updated product.
@@ -0,0 +1,123 @@
+package com.dev.product;
+
+import com.dev.product.dto.ProductStatsResponse;
+import com.dev.product.entity.ProductStatsEntity;
+import com.dev.product.repository.ProductStatsDeltaRepository;
+import com.dev.product.repository.ProductStatsRepository;
+import com.dev.product.service.impl.ProductStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductStatsServiceTest {
+
+    @Mock
+    private ProductStatsRepository productStatsRepository;
+
+    @Mock
+    private ProductStatsDeltaRepository productStatsDeltaRepository;
+
+    @InjectMocks
+    private ProductStatsServiceImpl productStatsService;
+
+    /**
+     * Sets up the Mockito annotations and a summary row of two products priced 10.00 and 30.00.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productStatsRepository.findById(ProductStatsEntity.SUMMARY_ID))
+                .thenReturn(Optional.of(summary(2, new BigDecimal("40.00"), new BigDecimal("10.00"), new BigDecimal("30.00"))));
+        productStatsService.reconcile();
+    }
+
+    /**
+     * Test case for reading statistics.
+     * Verifies that the count, extremes and average are taken from the summary row.
+     */
+    @Test
+    void testGetStats() {
+        // Act
+        ProductStatsResponse stats = productStatsService.getStats();
+
+        // Assert
+        assertEquals(2, stats.productCount());
+        assertEquals(new BigDecimal("10.00"), stats.minPrice());
+        assertEquals(new BigDecimal("30.00"), stats.maxPrice());
+        assertEquals(new BigDecimal("20.00"), stats.averagePrice());
+    }
+
+    /**
+     * Test case for a flush tick on an instance without local changes.
+     * Verifies that the summary row is still reloaded, so changes folded in by other instances become visible.
+     */
+    @Test
+    void testFlush_ReloadsChangesFromOtherInstances() {
+        // Arrange
+        when(productStatsDeltaRepository.applyDeltas(ProductStatsEntity.SUMMARY_ID)).thenReturn(0);
+        when(productStatsRepository.findById(ProductStatsEntity.SUMMARY_ID))
+                .thenReturn(Optional.of(summary(3, new BigDecimal("90.00"), new BigDecimal("10.00"), new BigDecimal("50.00"))));
+
+        // Act
+        productStatsService.flush();
+        ProductStatsResponse stats = productStatsService.getStats();
+
+        // Assert
+        assertEquals(3, stats.productCount());
+        assertEquals(new BigDecimal("50.00"), stats.maxPrice());
+        assertEquals(new BigDecimal("30.00"), stats.averagePrice());
+    }
+
+    /**
+     * Test case for flushing journaled deltas.
+     * Verifies that the deltas are folded in before the summary row is reloaded.
+     */
+    @Test
+    void testFlush_AppliesDeltasBeforeReload() {
+        // Act
+        productStatsService.flush();
+
+        // Assert
+        InOrder inOrder = inOrder(productStatsDeltaRepository, productStatsRepository);
+        inOrder.verify(productStatsDeltaRepository).applyDeltas(ProductStatsEntity.SUMMARY_ID);
+        inOrder.verify(productStatsRepository).findById(ProductStatsEntity.SUMMARY_ID);
+    }
+
+    /**
+     * Test case for reconciling the statistics.
+     * Verifies that the recomputation runs as the single statement that also discards the contained deltas,
+     * without a separate flush before it.
+     */
+    @Test
+    void testReconcile_SingleStatement() {
+        // Arrange
+        clearInvocations(productStatsRepository, productStatsDeltaRepository);
+
+        // Act
+        productStatsService.reconcile();
+
+        // Assert
+        verify(productStatsRepository, times(1)).reconcile(ProductStatsEntity.SUMMARY_ID);
+        verifyNoInteractions(productStatsDeltaRepository);
+    }
+
+    private static ProductStatsEntity summary(long count, BigDecimal sum, BigDecimal min, BigDecimal max) {
+        ProductStatsEntity summary = new ProductStatsEntity();
+        summary.setId(ProductStatsEntity.SUMMARY_ID);
+        summary.setProductCount(count);
+        summary.setPricedCount(count);
+        summary.setPriceSum(sum);
+        summary.setMinPrice(min);
+        summary.setMaxPrice(max);
+        return summary;
+    }
+}
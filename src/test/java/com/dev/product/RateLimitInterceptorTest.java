@@ -0,0 +1,147 @@
+package com.dev.product;
+
+import com.dev.product.bulkhead.BulkheadInterceptor;
+import com.dev.product.config.WebConfig;
+import com.dev.product.controller.ProductController;
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.globalexceptionhandler.GlobalExceptionHandler;
+import com.dev.product.ratelimit.AdmissionControlInterceptor;
+import com.dev.product.ratelimit.RateLimitInterceptor;
+import com.dev.product.service.ProductService;
+import com.dev.product.snapshot.CatalogFileSnapshotInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RateLimitInterceptorTest {
+
+    @Mock
+    private ProductService productService;
+
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productService.findById(1L))
+                .thenReturn(Optional.of(new ProductEntity(1L, "Product 1", "10.00", "Description 1")));
+        rateLimitInterceptor = new RateLimitInterceptor(1024, 1, 1, 0.5, 2, 1, 1, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Test case for a client exhausting its lookup budget.
+     * Verifies that the request after the burst is rejected with 429 and a Retry-After header.
+     */
+    @Test
+    void testRejectsWithRetryAfter() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(true);
+        mockMvc.perform(get("/products/1")).andExpect(status().isFound());
+        mockMvc.perform(get("/products/1")).andExpect(status().isFound());
+
+        // Act & Assert
+        mockMvc.perform(get("/products/1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    /**
+     * Test case for a client rotating API keys.
+     * Verifies that client-chosen headers do not give a client a fresh budget.
+     */
+    @Test
+    void testApiKeyDoesNotSelectBudget() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(true);
+        mockMvc.perform(get("/products/1").header("X-API-Key", "key-1")).andExpect(status().isFound());
+        mockMvc.perform(get("/products/1").header("X-API-Key", "key-2")).andExpect(status().isFound());
+
+        // Act & Assert
+        mockMvc.perform(get("/products/1").header("X-API-Key", "key-3"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    /**
+     * Test case for clients with different remote addresses.
+     * Verifies that one client exhausting its budget does not affect another.
+     */
+    @Test
+    void testRemoteAddressesHaveSeparateBudgets() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(true);
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/products/1").with(remoteAddress("10.0.0.1"))).andExpect(status().isFound());
+        }
+        mockMvc.perform(get("/products/1").with(remoteAddress("10.0.0.1"))).andExpect(status().isTooManyRequests());
+
+        // Act & Assert
+        mockMvc.perform(get("/products/1").with(remoteAddress("10.0.0.2"))).andExpect(status().isFound());
+    }
+
+    /**
+     * Test case for rate limiting switched off with product.ratelimit.enabled=false.
+     * Verifies that the interceptor is not registered and requests beyond the budget succeed.
+     */
+    @Test
+    void testDisabled() throws Exception {
+        // Arrange
+        MockMvc mockMvc = mockMvc(false);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/products/1")).andExpect(status().isFound());
+        }
+        assertFalse(registeredInterceptors(false).contains(rateLimitInterceptor));
+    }
+
+    private MockMvc mockMvc(boolean rateLimitEnabled) {
+        return MockMvcBuilders.standaloneSetup(new ProductController(productService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(registeredInterceptors(rateLimitEnabled).toArray(HandlerInterceptor[]::new))
+                .build();
+    }
+
+    private List<HandlerInterceptor> registeredInterceptors(boolean rateLimitEnabled) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WebConfig webConfig = new WebConfig(rateLimitInterceptor,
+                new BulkheadInterceptor(32, 50, 4, 1000, meterRegistry),
+                new AdmissionControlInterceptor(32, 100, meterRegistry),
+                new StaticListableBeanFactory().getBeanProvider(CatalogFileSnapshotInterceptor.class),
+                rateLimitEnabled, true);
+        List<HandlerInterceptor> interceptors = new ArrayList<>();
+        webConfig.addInterceptors(new InterceptorRegistry() {
+            @Override
+            public InterceptorRegistration addInterceptor(HandlerInterceptor interceptor) {
+                interceptors.add(interceptor);
+                return super.addInterceptor(interceptor);
+            }
+        });
+        return interceptors;
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.dev.product;
+
+import com.dev.product.ratelimit.RateLimiter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    /**
+     * Test case for exhausting a client's burst.
+     * Verifies that the burst is allowed and the next request is told how long to wait.
+     */
+    @Test
+    void testRejectsAfterBurst() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(1, 3, 16);
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("client-a"));
+        }
+        long wait = limiter.tryAcquire("client-a");
+        assertTrue(wait > 0 && wait <= 1_000_000_000L);
+    }
+
+    /**
+     * Test case for clients on different slots.
+     * Verifies that one client exhausting its budget does not affect another.
+     */
+    @Test
+    void testClientsHaveSeparateBudgets() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(1, 1, 1024);
+        assertEquals(0, limiter.tryAcquire("client-b"));
+        assertTrue(limiter.tryAcquire("client-b") > 0);
+
+        // Act
+        long first = limiter.tryAcquire("client-a");
+
+        // Assert
+        assertEquals(0, first);
+        assertTrue(limiter.tryAcquire("client-a") > 0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.dev.product;
+
+import com.dev.product.entity.ProductEntity;
+import com.dev.product.entity.ProductJobEntity;
+import com.dev.product.job.ProductJobChunk;
+import com.dev.product.job.RepriceJobHandler;
+import com.dev.product.repository.ProductBatchRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RepriceJobHandlerTest {
+
+    /**
+     * Test case for repricing a chunk of products.
+     * Verifies that numeric prices change by the percentage, rounded to two decimals, and other prices are left alone.
+     */
+    @Test
+    void testRepricesNumericPrices() {
+        // Arrange
+        ProductBatchRepository repository = mock(ProductBatchRepository.class);
+        when(repository.findRange(0L, 10, true)).thenReturn(List.of(
+                new ProductEntity(1L, "Product 1", "10.00", "Description 1"),
+                new ProductEntity(2L, "Product 2", "on request", "Description 2")));
+        when(repository.updateAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ProductJobEntity job = job(new BigDecimal("10"));
+
+        // Act
+        ProductJobChunk chunk = new RepriceJobHandler(repository).processChunk(job, 10);
+
+        // Assert
+        ArgumentCaptor<List<ProductEntity>> updates = ArgumentCaptor.captor();
+        verify(repository, times(1)).updateAll(updates.capture());
+        assertEquals(1, updates.getValue().size());
+        assertEquals("11.00", updates.getValue().get(0).getPrice());
+        assertEquals(2L, chunk.processed());
+        assertEquals(1, chunk.events().size());
+    }
+
+    /**
+     * Test case for a price cut that would round a price down to zero.
+     * Verifies that the product keeps its price instead of being given one that breaks the positive price constraint.
+     */
+    @Test
+    void testSkipsPricesDroppingToZero() {
+        // Arrange
+        ProductBatchRepository repository = mock(ProductBatchRepository.class);
+        when(repository.findRange(0L, 10, true)).thenReturn(List.of(
+                new ProductEntity(1L, "Product 1", "0.01", "Description 1"),
+                new ProductEntity(2L, "Product 2", "100.00", "Description 2")));
+        when(repository.updateAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ProductJobEntity job = job(new BigDecimal("-90"));
+
+        // Act
+        ProductJobChunk chunk = new RepriceJobHandler(repository).processChunk(job, 10);
+
+        // Assert
+        ArgumentCaptor<List<ProductEntity>> updates = ArgumentCaptor.captor();
+        verify(repository, times(1)).updateAll(updates.capture());
+        assertEquals(List.of(2L), updates.getValue().stream().map(ProductEntity::getId).toList());
+        assertEquals("10.00", updates.getValue().get(0).getPrice());
+        assertEquals(2L, chunk.processed());
+        assertEquals(2L, chunk.lastId());
+    }
+
+    private static ProductJobEntity job(BigDecimal percent) {
+        ProductJobEntity job = new ProductJobEntity();
+        job.setId(1L);
+        job.setPercent(percent);
+        return job;
+    }
+}
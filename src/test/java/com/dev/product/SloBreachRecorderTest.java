@@ -0,0 +1,105 @@
+package com.dev.product;
+
+import com.dev.product.tracing.SloBreachRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SloBreachRecorderTest {
+
+    @TempDir
+    private Path directory;
+
+    private SloBreachRecorder sloBreachRecorder;
+
+    /**
+     * Stops the continuous recording started by the test.
+     */
+    @AfterEach
+    void tearDown() {
+        if (sloBreachRecorder != null) {
+            sloBreachRecorder.stop();
+        }
+    }
+
+    /**
+     * Test case for a request slower than the SLO.
+     * Verifies that the recording is dumped to the configured directory.
+     */
+    @Test
+    void testBreachDumpsRecording() throws Exception {
+        // Arrange
+        sloBreachRecorder = start(0, 300000);
+
+        // Act
+        handle(10);
+
+        // Assert
+        assertEquals(1, recordings());
+    }
+
+    /**
+     * Test case for a request within the SLO.
+     * Verifies that nothing is dumped.
+     */
+    @Test
+    void testRequestWithinSloIsNotCaptured() throws Exception {
+        // Arrange
+        sloBreachRecorder = start(60000, 300000);
+
+        // Act
+        handle(0);
+
+        // Assert
+        assertEquals(0, recordings());
+    }
+
+    /**
+     * Test case for a burst of slow requests.
+     * Verifies that the cooldown limits the burst to a single dump.
+     */
+    @Test
+    void testCooldownLimitsDumps() throws Exception {
+        // Arrange
+        sloBreachRecorder = start(0, 300000);
+
+        // Act
+        handle(10);
+        handle(10);
+        handle(10);
+
+        // Assert
+        assertEquals(1, recordings());
+    }
+
+    private SloBreachRecorder start(long sloMs, long cooldownMs) throws Exception {
+        SloBreachRecorder recorder = new SloBreachRecorder(sloMs, cooldownMs, Duration.ofMinutes(1), directory.toString());
+        recorder.start();
+        return recorder;
+    }
+
+    private void handle(long durationMs) throws InterruptedException {
+        ServerRequestObservationContext context = new ServerRequestObservationContext(
+                new MockHttpServletRequest("GET", "/products"), new MockHttpServletResponse());
+        sloBreachRecorder.onStart(context);
+        Thread.sleep(durationMs);
+        sloBreachRecorder.onStop(context);
+    }
+
+    private long recordings() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jfr")).count();
+        }
+    }
+}